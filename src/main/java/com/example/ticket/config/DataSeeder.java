@@ -5,12 +5,13 @@ import com.example.ticket.domain.entity.User;
 import com.example.ticket.domain.enums.EventStatus;
 import com.example.ticket.domain.repository.EventRepository;
 import com.example.ticket.domain.repository.UserRepository;
+import com.example.ticket.service.EventCache;
+import com.example.ticket.service.InventoryService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.math.BigDecimal;
@@ -24,7 +25,8 @@ public class DataSeeder {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final com.example.ticket.domain.repository.OrderRepository orderRepository;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final InventoryService inventoryService;
+    private final EventCache eventCache;
     private final PasswordEncoder passwordEncoder;
 
     @Bean
@@ -88,10 +90,11 @@ public class DataSeeder {
                     .build();
 
             event1 = eventRepository.save(event1);
+            eventCache.evictAll();
 
             // IMPORTANT: Sync with Redis for InventoryService
-            String redisKey = "inventory:event:" + event1.getId();
-            redisTemplate.opsForValue().set(redisKey, 50);
+            // (goes through the service so sharded/striped inventory modes are seeded correctly)
+            inventoryService.initializeInventory(event1.getId(), 50);
 
             log.info("Seeded Flash Sale Event: BLACKPINK WORLD TOUR 2026 (Starts in 10s)");
 
@@ -0,0 +1,37 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Event metadata cache configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.event-cache")
+public class EventCacheConfig {
+
+    /**
+     * When disabled every event read goes to MySQL.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum events kept in each node's in-process cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * In-process entries expire after this long, bounding staleness if an invalidation
+     * message is missed.
+     */
+    private Duration localTtl = Duration.ofSeconds(30);
+
+    /**
+     * Time to live of the shared Redis copy.
+     */
+    private Duration redisTtl = Duration.ofMinutes(10);
+}
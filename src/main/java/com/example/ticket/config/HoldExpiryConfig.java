@@ -0,0 +1,42 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Hold expiry scheduler configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.hold-expiry")
+public class HoldExpiryConfig {
+
+    /**
+     * Timing wheel resolution: holds are released at most about one tick after their TTL.
+     */
+    private Duration tick = Duration.ofMillis(100);
+
+    /**
+     * Buckets in the timing wheel. Deadlines further out than one revolution wait extra rounds.
+     */
+    private int wheelSize = 1024;
+
+    /**
+     * How often the Redis sorted set is swept for due holds this node has no timer for
+     * (orders taken by a node that has since died).
+     */
+    private Duration sweepInterval = Duration.ofSeconds(5);
+
+    /**
+     * Maximum orders expired per database transaction.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Orders expired per transaction by the periodic expiry scan.
+     */
+    private int scanChunkSize = 500;
+}
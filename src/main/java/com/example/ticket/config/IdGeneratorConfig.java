@@ -0,0 +1,57 @@
+package com.example.ticket.config;
+
+import com.example.ticket.domain.id.IdGenerator;
+import com.example.ticket.domain.id.IdGenerators;
+import com.example.ticket.domain.id.SnowflakeIdGenerator;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * ID generator configuration properties.
+ */
+@Slf4j
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.id")
+public class IdGeneratorConfig {
+
+    /**
+     * Node ID (0-1023), unique per running instance. When unset a free ID is leased from
+     * Redis at startup.
+     */
+    private Integer nodeId;
+
+    /**
+     * How long a leased node ID survives without renewal (e.g. while Redis is unreachable).
+     */
+    private Duration nodeLeaseTime = Duration.ofMinutes(10);
+
+    /**
+     * Start of the 41-bit millisecond timestamp (about 69 years of IDs).
+     * Must never change once IDs have been issued.
+     */
+    private Instant epoch = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Bean(destroyMethod = "release")
+    public NodeIdLease nodeIdLease(StringRedisTemplate redisTemplate, RedisScript<Long> leaseNodeIdScript,
+            RedisScript<Long> releaseJobLockScript) {
+        return new NodeIdLease(redisTemplate, leaseNodeIdScript, releaseJobLockScript, nodeLeaseTime);
+    }
+
+    @Bean
+    public IdGenerator idGenerator(NodeIdLease nodeIdLease) {
+        int node = nodeId != null ? nodeId : nodeIdLease.acquire();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(node, epoch);
+        IdGenerators.install(generator);
+        log.info("ID generator node ID: {}{}", node, nodeId != null ? "" : " (leased)");
+        return generator;
+    }
+}
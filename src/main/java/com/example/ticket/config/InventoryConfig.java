@@ -0,0 +1,107 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Inventory hold configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.inventory")
+public class InventoryConfig {
+
+    /**
+     * Strategy used to hold tickets against the Redis counters.
+     */
+    private Mode mode = Mode.SCRIPTED;
+
+    /**
+     * Number of sub-counters an event's stock is split across in SHARDED mode.
+     * Must stay the same between inventory initialization and reads, and while holds are
+     * outstanding (it decides which slot an order's hold key lives in).
+     */
+    private int stripes = 8;
+
+    /**
+     * How long an event stays flagged sold out on a node before purchases reach Redis again.
+     * Bounds how long a stale flag (a lost or reordered broadcast, stock still leased by
+     * another node) can turn buyers away.
+     */
+    private Duration soldOutTtl = Duration.ofSeconds(2);
+
+    /**
+     * Settings for LEASE mode.
+     */
+    private Lease lease = new Lease();
+
+    /**
+     * Settings for live inventory streaming (SSE).
+     */
+    private Stream stream = new Stream();
+
+    public enum Mode {
+        /**
+         * DECRBY with a compensating INCRBY, hold key written in a separate call.
+         */
+        LEGACY,
+
+        /**
+         * Single Lua script: check stock, decrement and write the hold key in one round trip.
+         */
+        SCRIPTED,
+
+        /**
+         * Stock split across {@link #stripes} counters, each in its own cluster slot; a hold runs
+         * against one stripe and spills to the others only when that stripe is short.
+         */
+        SHARDED,
+
+        /**
+         * Each node leases blocks of tickets from Redis and hands out holds from a local counter.
+         */
+        LEASE
+    }
+
+    @Data
+    public static class Lease {
+
+        /**
+         * Number of tickets a node reserves from Redis at a time.
+         */
+        private int blockSize = 20;
+
+        /**
+         * Unused leased tickets are returned to Redis after this long without a hold.
+         */
+        private Duration idleTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Once Redis stock drops to this level nodes stop leasing, return their leftovers
+         * and sell the remaining tickets straight from Redis.
+         */
+        private int lowStockThreshold = 100;
+    }
+
+    @Data
+    public static class Stream {
+
+        /**
+         * Stock changes are collected and pushed at most once per this interval.
+         */
+        private Duration debounce = Duration.ofMillis(250);
+
+        /**
+         * Connections are closed after this long; clients reconnect automatically.
+         */
+        private Duration connectionTimeout = Duration.ofMinutes(30);
+
+        /**
+         * Interval of keep-alive comments on idle connections.
+         */
+        private Duration heartbeat = Duration.ofSeconds(15);
+    }
+}
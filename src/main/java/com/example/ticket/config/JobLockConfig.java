@@ -0,0 +1,26 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cluster-wide scheduled job lock configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.jobs")
+public class JobLockConfig {
+
+    /**
+     * Run cluster-wide jobs on one node at a time, elected through a Redis lease.
+     * Disable on single-node deployments to skip the Redis round trip.
+     */
+    private boolean clusterLock = true;
+
+    /**
+     * Lease time as a multiple of the job interval. The leader renews on every run; when it
+     * dies another node takes over once the lease runs out.
+     */
+    private int leaseIntervals = 3;
+}
@@ -0,0 +1,52 @@
+package com.example.ticket.config;
+
+import com.example.ticket.config.LatencyInjectionConfig.Point;
+import com.example.ticket.config.LatencyInjectionConfig.Profile;
+import com.example.ticket.service.LatencyInjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint to switch latency injection at runtime.
+ * <ul>
+ * <li>GET /actuator/latency - current state</li>
+ * <li>POST /actuator/latency {"enabled": true} - master switch</li>
+ * <li>POST /actuator/latency/inventory {"spec": "uniform:10-50"} - set a point's profile
+ * ({@code off} removes it)</li>
+ * </ul>
+ * Only exposed by profiles that list it in management.endpoints.web.exposure.include, and
+ * only to ADMIN users (see SecurityConfig).
+ */
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+
+    private final LatencyInjector latencyInjector;
+
+    @ReadOperation
+    public Map<String, Object> state() {
+        return Map.of(
+                "enabled", latencyInjector.isEnabled(),
+                "points", latencyInjector.getProfiles());
+    }
+
+    @WriteOperation
+    public Map<String, Object> setEnabled(boolean enabled) {
+        latencyInjector.setEnabled(enabled);
+        return state();
+    }
+
+    @WriteOperation
+    public Map<String, Object> setProfile(@Selector String point, String spec) {
+        Point target = Point.valueOf(point.toUpperCase().replace('-', '_'));
+        latencyInjector.setProfile(target, "off".equalsIgnoreCase(spec) ? null : Profile.parse(spec));
+        return state();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latency injection configuration properties.
+ * Off by default; stress profiles enable it to model gateway latency.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.latency")
+public class LatencyInjectionConfig {
+
+    /**
+     * Master switch. When false no delay is injected anywhere.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Delay profile per injection point.
+     */
+    private Map<Point, Profile> points = new EnumMap<>(Point.class);
+
+    public enum Point {
+        /**
+         * Redis inventory hold.
+         */
+        INVENTORY,
+
+        /**
+         * VNPay payment URL generation.
+         */
+        PAYMENT_URL,
+
+        /**
+         * SQS message send.
+         */
+        SQS
+    }
+
+    public enum Distribution {
+        /**
+         * Always {@code fixedMs}.
+         */
+        FIXED,
+
+        /**
+         * Uniform between {@code minMs} and {@code maxMs}.
+         */
+        UNIFORM,
+
+        /**
+         * Shaped by p50/p90/p99/max, interpolated linearly between percentiles.
+         */
+        PERCENTILE
+    }
+
+    @Data
+    public static class Profile {
+
+        private Distribution distribution = Distribution.FIXED;
+        private long fixedMs;
+        private long minMs;
+        private long maxMs;
+        private long p50Ms;
+        private long p90Ms;
+        private long p99Ms;
+
+        /**
+         * Parse a compact spec: {@code fixed:50}, {@code uniform:10-50} or
+         * {@code percentile:20,80,200,500} (p50, p90, p99, max).
+         */
+        public static Profile parse(String spec) {
+            String[] parts = spec.trim().split(":", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid latency spec: " + spec);
+            }
+
+            Profile profile = new Profile();
+            profile.setDistribution(Distribution.valueOf(parts[0].trim().toUpperCase()));
+            String[] values = parts[1].split("[-,]");
+            switch (profile.getDistribution()) {
+                case FIXED -> profile.setFixedMs(Long.parseLong(values[0].trim()));
+                case UNIFORM -> {
+                    profile.setMinMs(Long.parseLong(values[0].trim()));
+                    profile.setMaxMs(Long.parseLong(values[1].trim()));
+                }
+                case PERCENTILE -> {
+                    profile.setP50Ms(Long.parseLong(values[0].trim()));
+                    profile.setP90Ms(Long.parseLong(values[1].trim()));
+                    profile.setP99Ms(Long.parseLong(values[2].trim()));
+                    profile.setMaxMs(Long.parseLong(values[3].trim()));
+                }
+            }
+            return profile;
+        }
+
+        /**
+         * Draw a delay in milliseconds for a uniform random {@code u} in [0, 1).
+         */
+        public long sample(double u) {
+            return switch (distribution) {
+                case FIXED -> fixedMs;
+                case UNIFORM -> minMs + (long) (u * (maxMs - minMs));
+                case PERCENTILE -> {
+                    if (u < 0.50) {
+                        yield (long) (u / 0.50 * p50Ms);
+                    } else if (u < 0.90) {
+                        yield p50Ms + (long) ((u - 0.50) / 0.40 * (p90Ms - p50Ms));
+                    } else if (u < 0.99) {
+                        yield p90Ms + (long) ((u - 0.90) / 0.09 * (p99Ms - p90Ms));
+                    }
+                    yield p99Ms + (long) ((u - 0.99) / 0.01 * (maxMs - p99Ms));
+                }
+            };
+        }
+    }
+}
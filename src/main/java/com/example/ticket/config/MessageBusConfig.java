@@ -0,0 +1,131 @@
+package com.example.ticket.config;
+
+import com.example.ticket.messaging.InMemoryMessageBus;
+import com.example.ticket.messaging.MessageBus;
+import com.example.ticket.messaging.RedisStreamMessageBus;
+import com.example.ticket.messaging.SqsMessageBus;
+import com.example.ticket.service.LatencyInjector;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+/**
+ * Message bus configuration properties.
+ */
+@Slf4j
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.bus")
+public class MessageBusConfig {
+
+    /**
+     * Headroom between a blocking stream read and the Redis command timeout.
+     */
+    private static final Duration BLOCK_MARGIN = Duration.ofMillis(500);
+
+    public enum Type {
+        /**
+         * AWS SQS (LocalStack locally), see {@code aws.sqs}.
+         */
+        SQS,
+
+        /**
+         * A Redis stream with a consumer group shared by all nodes.
+         */
+        REDIS,
+
+        /**
+         * In-JVM queue: single node only, messages do not survive a restart.
+         */
+        MEMORY
+    }
+
+    public enum Format {
+        /**
+         * Versioned binary encoding (base64), see {@code PaymentMessageCodec}.
+         */
+        BINARY,
+
+        /**
+         * The original JSON body. Use while older nodes that only read JSON are still consuming.
+         */
+        JSON
+    }
+
+    private Type type = Type.SQS;
+
+    /**
+     * Encoding for messages sent; both formats are always accepted on receive.
+     */
+    private Format format = Format.BINARY;
+
+    private Redis redis = new Redis();
+
+    private Memory memory = new Memory();
+
+    @Data
+    public static class Redis {
+
+        private String streamKey = "bus:payments";
+
+        private String group = "payment-workers";
+    }
+
+    @Data
+    public static class Memory {
+
+        /**
+         * Messages waiting to be received; sends are rejected (and retried by the outbox) when full.
+         */
+        private int capacity = 100_000;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ticket.bus", name = "type", havingValue = "sqs", matchIfMissing = true)
+    public MessageBus sqsMessageBus(SqsAsyncClient sqsAsyncClient, LatencyInjector latencyInjector,
+            @Value("${aws.sqs.queue-name:payment-queue}") String queueName) {
+        log.info("Message bus: SQS queue {}", queueName);
+        return new SqsMessageBus(sqsAsyncClient, latencyInjector, queueName);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ticket.bus", name = "type", havingValue = "redis")
+    public MessageBus redisMessageBus(StringRedisTemplate redisTemplate,
+            @Value("${spring.data.redis.timeout:60s}") Duration commandTimeout) {
+        String consumerName = hostName() + "-" + ProcessHandle.current().pid();
+        // Blocking reads share the template's connections: stay clear of their command timeout
+        Duration maxBlock = commandTimeout.minus(BLOCK_MARGIN);
+        if (maxBlock.compareTo(commandTimeout.dividedBy(2)) < 0) {
+            maxBlock = commandTimeout.dividedBy(2);
+        }
+        log.info("Message bus: Redis stream {} as {} (reads block at most {})",
+                redis.getStreamKey(), consumerName, maxBlock);
+        return new RedisStreamMessageBus(redisTemplate, redis.getStreamKey(), redis.getGroup(), consumerName,
+                maxBlock);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "ticket.bus", name = "type", havingValue = "memory")
+    public MessageBus inMemoryMessageBus() {
+        log.info("Message bus: in-memory (capacity {})", memory.getCapacity());
+        return new InMemoryMessageBus(memory.getCapacity());
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
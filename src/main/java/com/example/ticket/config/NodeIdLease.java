@@ -0,0 +1,106 @@
+package com.example.ticket.config;
+
+import com.example.ticket.domain.id.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leases a free Snowflake node ID from Redis, so instances started from the same image
+ * (auto-scaling groups, containers with random host names) never share one.
+ * Node {@code n} is held through the key {@code id:node:{n}}, renewed in the background
+ * every third of the lease time and released on shutdown.
+ */
+@Slf4j
+public class NodeIdLease {
+
+    private static final String KEY_PREFIX = "id:node:";
+    private static final int NODE_IDS = SnowflakeIdGenerator.MAX_NODE_ID + 1;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> leaseNodeIdScript;
+    private final RedisScript<Long> releaseJobLockScript;
+    private final Duration leaseTime;
+
+    private final String ownerId = ManagementFactory.getRuntimeMXBean().getName() + "-"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    private ScheduledExecutorService renewer;
+    private int nodeId = -1;
+
+    public NodeIdLease(StringRedisTemplate redisTemplate, RedisScript<Long> leaseNodeIdScript,
+            RedisScript<Long> releaseJobLockScript, Duration leaseTime) {
+        this.redisTemplate = redisTemplate;
+        this.leaseNodeIdScript = leaseNodeIdScript;
+        this.releaseJobLockScript = releaseJobLockScript;
+        this.leaseTime = leaseTime;
+    }
+
+    /**
+     * Lease the first free node ID, starting from a random one.
+     *
+     * @throws IllegalStateException if every node ID is leased
+     */
+    public synchronized int acquire() {
+        int start = ThreadLocalRandom.current().nextInt(NODE_IDS);
+        for (int i = 0; i < NODE_IDS; i++) {
+            int candidate = (start + i) % NODE_IDS;
+            if (lease(candidate)) {
+                nodeId = candidate;
+                startRenewing();
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("No free node ID: all " + NODE_IDS + " are leased");
+    }
+
+    /**
+     * Give the node ID back so a new instance can take it right away.
+     */
+    public synchronized void release() {
+        if (nodeId < 0) {
+            return;
+        }
+        renewer.shutdownNow();
+        try {
+            redisTemplate.execute(releaseJobLockScript, List.of(KEY_PREFIX + nodeId), ownerId);
+        } catch (Exception e) {
+            log.warn("Could not release node ID {}: {}", nodeId, e.getMessage());
+        }
+        nodeId = -1;
+    }
+
+    private boolean lease(int candidate) {
+        Long leased = redisTemplate.execute(leaseNodeIdScript, List.of(KEY_PREFIX + candidate),
+                ownerId, Long.toString(leaseTime.toMillis()));
+        return leased != null && leased == 1;
+    }
+
+    private void startRenewing() {
+        renewer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("node-id-lease").daemon().factory());
+        long periodMillis = leaseTime.toMillis() / 3;
+        renewer.scheduleWithFixedDelay(this::renew, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void renew() {
+        int current = nodeId;
+        try {
+            if (!lease(current)) {
+                // Only possible after renewals failed for a whole lease time
+                log.error("Node ID {} is now leased by another instance; generated IDs may collide", current);
+            }
+        } catch (Exception e) {
+            log.warn("Could not renew node ID {}: {}", current, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Outbox relay configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.outbox")
+public class OutboxConfig {
+
+    /**
+     * Delay between relay runs while the outbox is empty.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Maximum messages claimed per relay run (sent 10 per SendMessageBatch call).
+     */
+    private int batchSize = 100;
+
+    /**
+     * Full batches relayed back to back in one run before waiting for the next poll.
+     */
+    private int maxBatchesPerRun = 10;
+
+    /**
+     * Sends still pending after this count as failed and are retried with backoff.
+     * Keep it below the lease timeout so no other relay picks them up mid-send.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(10);
+
+    /**
+     * How long claimed messages stay hidden from other relays. A relay that dies mid-send
+     * has its messages picked up again after this.
+     */
+    private Duration leaseTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Delay before the first retry of a failed send, doubled per attempt.
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Upper bound for the retry delay. Messages are never dropped.
+     */
+    private Duration maxRetryBackoff = Duration.ofMinutes(5);
+}
@@ -0,0 +1,58 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Payment worker (SQS consumer) configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.payment-worker")
+public class PaymentWorkerConfig {
+
+    /**
+     * Number of concurrent long-polling receivers.
+     */
+    private int receivers = 2;
+
+    /**
+     * Threads finalizing orders. Each one holds a pooled DB connection while it works.
+     */
+    private int processingThreads = 4;
+
+    /**
+     * Maximum messages received but not yet finalized. Receivers stop polling while full.
+     */
+    private int maxInFlight = 100;
+
+    /**
+     * Long-poll wait per ReceiveMessage call (SQS maximum is 20s).
+     * The Redis stream bus blocks on the shared connection, so it caps the wait just below
+     * {@code spring.data.redis.timeout}; a longer block would time out client-side.
+     */
+    private Duration waitTime = Duration.ofSeconds(20);
+
+    /**
+     * Visibility timeout for received messages.
+     */
+    private Duration visibilityTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Messages still being processed after this long get their visibility timeout extended.
+     */
+    private Duration extendAfter = Duration.ofSeconds(15);
+
+    /**
+     * How often processed messages are deleted in batches.
+     */
+    private Duration deleteInterval = Duration.ofMillis(200);
+
+    /**
+     * How long shutdown waits for in-flight messages to finish.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+}
@@ -2,12 +2,17 @@ package com.example.ticket.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 /**
  * Redis configuration for ticket inventory management and caching.
  */
@@ -36,4 +41,114 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * Listener container for pub/sub broadcasts between app nodes.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    /**
+     * Lua script that checks stock, decrements it and writes the hold record in one call.
+     */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> holdTicketsScript() {
+        return RedisScript.of(new ClassPathResource("scripts/hold_tickets.lua"), List.class);
+    }
+
+    /**
+     * Lua script that takes what it can from one inventory stripe (sharded mode spill).
+     */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> takeFromStripeScript() {
+        return RedisScript.of(new ClassPathResource("scripts/take_from_stripe.lua"), List.class);
+    }
+
+    /**
+     * Lua script that leases a block of tickets to one app node (lease mode).
+     */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> leaseTicketsScript() {
+        return RedisScript.of(new ClassPathResource("scripts/lease_tickets.lua"), List.class);
+    }
+
+    /**
+     * Lua script that resets an event's inventory counter and starts a new lease generation.
+     */
+    @Bean
+    public RedisScript<Long> initInventoryScript() {
+        return RedisScript.of(new ClassPathResource("scripts/init_inventory.lua"), Long.class);
+    }
+
+    /**
+     * Lua script that gives leased tickets back unless the counter was reset since (lease mode).
+     */
+    @Bean
+    public RedisScript<Long> returnLeaseScript() {
+        return RedisScript.of(new ClassPathResource("scripts/return_lease.lua"), Long.class);
+    }
+
+    /**
+     * Lua script that reserves part of a user's per-event purchase allowance.
+     */
+    @Bean
+    @SuppressWarnings("rawtypes")
+    public RedisScript<List> reservePurchaseScript() {
+        return RedisScript.of(new ClassPathResource("scripts/reserve_purchase.lua"), List.class);
+    }
+
+    /**
+     * Lua script that gives back part of a user's per-event purchase allowance.
+     */
+    @Bean
+    public RedisScript<Long> releasePurchaseScript() {
+        return RedisScript.of(new ClassPathResource("scripts/release_purchase.lua"), Long.class);
+    }
+
+    /**
+     * Lua script that acquires or renews a scheduled job lease with a fencing token.
+     */
+    @Bean
+    public RedisScript<Long> acquireJobLockScript() {
+        return RedisScript.of(new ClassPathResource("scripts/acquire_job_lock.lua"), Long.class);
+    }
+
+    /**
+     * Lua script that releases a scheduled job lease or node ID lease held by this node.
+     */
+    @Bean
+    public RedisScript<Long> releaseJobLockScript() {
+        return RedisScript.of(new ClassPathResource("scripts/release_job_lock.lua"), Long.class);
+    }
+
+    /**
+     * Lua script that caches a loaded event unless it was evicted while loading.
+     */
+    @Bean
+    public RedisScript<Long> shareEventScript() {
+        return RedisScript.of(new ClassPathResource("scripts/share_event.lua"), Long.class);
+    }
+
+    /**
+     * Lua script that takes or renews the lease on a Snowflake node ID.
+     */
+    @Bean
+    public RedisScript<Long> leaseNodeIdScript() {
+        return RedisScript.of(new ClassPathResource("scripts/lease_node_id.lua"), Long.class);
+    }
+
+    /**
+     * Lua script that consumes a waiting-room admission if it belongs to the caller.
+     */
+    @Bean
+    public RedisScript<Long> consumeAdmissionScript() {
+        return RedisScript.of(new ClassPathResource("scripts/consume_admission.lua"), Long.class);
+    }
 }
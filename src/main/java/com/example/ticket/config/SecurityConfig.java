@@ -50,9 +50,12 @@ public class SecurityConfig {
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/payments/vnpay/callback").permitAll()
                         .requestMatchers("/api/payments/vnpay/ipn").permitAll()
+                        // Latency injection can slow every request down: admins only
+                        .requestMatchers("/actuator/latency/**").hasRole("ADMIN")
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                         // Protected endpoints
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/orders/**").authenticated()
                         .requestMatchers("/api/payments/**").authenticated()
                         // All other requests require authentication
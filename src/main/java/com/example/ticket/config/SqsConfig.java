@@ -1,6 +1,7 @@
 package com.example.ticket.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
@@ -14,6 +15,7 @@ import java.net.URI;
  * AWS SQS configuration using LocalStack for local development.
  */
 @Configuration
+@ConditionalOnProperty(prefix = "ticket.bus", name = "type", havingValue = "sqs", matchIfMissing = true)
 public class SqsConfig {
 
     @Value("${aws.sqs.endpoint:http://localhost:4566}")
@@ -0,0 +1,32 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Verified JWT cache configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.token-cache")
+public class TokenCacheConfig {
+
+    /**
+     * When disabled every request verifies its token's signature.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum verified tokens kept per node.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a verified token is reused before its signature is checked again.
+     * Revocations are checked on every request regardless.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
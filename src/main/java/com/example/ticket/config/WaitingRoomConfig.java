@@ -0,0 +1,47 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Virtual waiting room configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.waiting-room")
+public class WaitingRoomConfig {
+
+    /**
+     * When enabled, only admitted queue tokens may create orders.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Default number of users admitted per second for each event.
+     */
+    private int admitPerSecond = 50;
+
+    /**
+     * Per-event overrides of the admission rate, keyed by event ID.
+     */
+    private Map<Long, Integer> eventRates = new HashMap<>();
+
+    /**
+     * How long an admitted user has to place the order.
+     */
+    private Duration admissionTtl = Duration.ofMinutes(5);
+
+    /**
+     * How long a queue token stays valid while waiting.
+     */
+    private Duration tokenTtl = Duration.ofMinutes(30);
+
+    public int getAdmitRate(Long eventId) {
+        return eventRates.getOrDefault(eventId, admitPerSecond);
+    }
+}
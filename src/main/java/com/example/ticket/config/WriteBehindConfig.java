@@ -0,0 +1,69 @@
+package com.example.ticket.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Write-behind order persistence configuration properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "ticket.write-behind")
+public class WriteBehindConfig {
+
+    /**
+     * When enabled, orders are acknowledged once the Redis hold succeeds and written
+     * to MySQL in batches by a background flusher.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Capacity of the in-memory buffer. New orders are rejected while it is full.
+     */
+    private int bufferCapacity = 8192;
+
+    /**
+     * Maximum orders per multi-row insert.
+     */
+    private int batchSize = 200;
+
+    /**
+     * How long the flusher waits for more orders before writing a partial batch.
+     */
+    private Duration flushInterval = Duration.ofMillis(50);
+
+    /**
+     * Append-only journal of accepted orders, replayed on restart.
+     */
+    private String journalPath = "data/order-journal.log";
+
+    /**
+     * Force every journal append to disk. Without it the journal survives a process
+     * crash (page cache) but not a host crash.
+     */
+    private boolean fsync = false;
+
+    /**
+     * Journal is rewritten with only the unflushed orders once it grows past this size.
+     */
+    private long journalCompactBytes = 16 * 1024 * 1024;
+
+    /**
+     * First pause after a failed batch write; doubled on every further failure.
+     */
+    private Duration retryBackoff = Duration.ofMillis(100);
+
+    /**
+     * Longest pause between retries of a failed batch write.
+     */
+    private Duration maxRetryBackoff = Duration.ofSeconds(5);
+
+    /**
+     * How long shutdown keeps writing buffered orders. Orders still unwritten after that
+     * stay in the journal and are replayed on the next start.
+     */
+    private Duration drainTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,40 @@
+package com.example.ticket.controller;
+
+import com.example.ticket.dto.response.ApiResponse;
+import com.example.ticket.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Admin operations on user accounts. Changes take effect immediately: the user's tokens are revoked.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class AdminUserController {
+
+    private final UserService userService;
+
+    @PutMapping("/{userId}/enabled")
+    public ResponseEntity<ApiResponse<Void>> setEnabled(@PathVariable Long userId, @RequestParam boolean enabled) {
+        try {
+            userService.setEnabled(userId, enabled);
+            return ResponseEntity.ok(ApiResponse.success(enabled ? "User enabled" : "User disabled", null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @PutMapping("/{userId}/role")
+    public ResponseEntity<ApiResponse<Void>> changeRole(@PathVariable Long userId, @RequestParam String role) {
+        try {
+            userService.changeRole(userId, role);
+            return ResponseEntity.ok(ApiResponse.success("Role changed", null));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
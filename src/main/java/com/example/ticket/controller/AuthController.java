@@ -4,10 +4,12 @@ import com.example.ticket.domain.entity.User;
 import com.example.ticket.domain.repository.UserRepository;
 import com.example.ticket.dto.request.LoginRequest;
 import com.example.ticket.dto.response.AuthResponse;
+import com.example.ticket.security.AuthenticatedUser;
 import com.example.ticket.security.JwtUtils;
+import com.example.ticket.security.UserRevocationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,7 +21,7 @@ public class AuthController {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtils jwtUtils;
-    private final UserDetailsService userDetailsService;
+    private final UserRevocationRegistry revocationRegistry;
 
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody com.example.ticket.dto.request.RegisterRequest request) {
@@ -55,7 +57,7 @@ public class AuthController {
         }
 
         // Generate JWT
-        String token = jwtUtils.generateToken(userDetailsService.loadUserByUsername(user.getEmail()));
+        String token = jwtUtils.generateToken(user);
 
         AuthResponse response = AuthResponse.builder()
                 .token(token)
@@ -67,4 +69,16 @@ public class AuthController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Revoke every token issued to the caller so far, on all nodes.
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<?> logoutAll(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) {
+            return ResponseEntity.status(401).body("Not authenticated");
+        }
+        revocationRegistry.revoke(principal.id());
+        return ResponseEntity.ok("Logged out from all sessions");
+    }
 }
@@ -2,15 +2,21 @@ package com.example.ticket.controller;
 
 import com.example.ticket.dto.response.ApiResponse;
 import com.example.ticket.dto.response.EventResponse;
+import com.example.ticket.service.EventListingCache;
 import com.example.ticket.service.EventService;
+import com.example.ticket.service.InventoryStreamService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Locale;
 
 /**
  * REST controller for event-related operations.
@@ -21,14 +27,65 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final EventListingCache eventListingCache;
+    private final InventoryStreamService inventoryStreamService;
 
     /**
      * Get all upcoming events.
+     * Served from the pre-encoded listing. Conditional requests get 304 Not Modified from
+     * Spring's ETag check on the response entity, which keeps the ETag and Vary headers.
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<EventResponse>>> getUpcomingEvents() {
-        List<EventResponse> events = eventService.getUpcomingEvents();
-        return ResponseEntity.ok(ApiResponse.success(events));
+    public ResponseEntity<byte[]> getUpcomingEvents(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        EventListingCache.Listing listing = eventListingCache.getUpcoming();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? listing.gzipEtag() : listing.etag();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(listing.gzip());
+        }
+        return response.body(listing.json());
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: listed (or covered by {@code *}) with a
+     * q-value above zero, so {@code gzip;q=0} is a refusal.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
     }
 
     /**
@@ -52,6 +109,26 @@ public class EventController {
         return ResponseEntity.ok(ApiResponse.success(events));
     }
 
+    /**
+     * Typeahead suggestions for a partially typed search.
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<EventResponse>>> suggestEvents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<EventResponse> events = eventService.suggestEvents(q, Math.min(limit, 50));
+        return ResponseEntity.ok(ApiResponse.success(events));
+    }
+
+    /**
+     * Stream live stock for an event (Server-Sent Events, "inventory" events with JSON data).
+     * Replaces polling {@code GET /api/events/{id}} during a sale.
+     */
+    @GetMapping(value = "/{id}/inventory/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamInventory(@PathVariable Long id) {
+        return inventoryStreamService.watch(id);
+    }
+
     /**
      * Get event by ID.
      */
@@ -3,11 +3,16 @@ package com.example.ticket.controller;
 import com.example.ticket.dto.request.CreateOrderRequest;
 import com.example.ticket.dto.response.ApiResponse;
 import com.example.ticket.dto.response.OrderResponse;
+import com.example.ticket.security.AuthenticatedUser;
+import com.example.ticket.service.Admission;
 import com.example.ticket.service.OrderService;
+import com.example.ticket.service.SoldOutRegistry;
+import com.example.ticket.service.WaitingRoomService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -19,7 +24,8 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
-    private final com.example.ticket.domain.repository.UserRepository userRepository; // Inject UserRepository
+    private final SoldOutRegistry soldOutRegistry;
+    private final WaitingRoomService waitingRoomService;
 
     /**
      * Create a new order (hold tickets and get payment URL).
@@ -28,17 +34,25 @@ public class OrderController {
     @PostMapping
     public ResponseEntity<ApiResponse<OrderResponse>> createOrder(
             @Valid @RequestBody CreateOrderRequest request,
+            @RequestHeader(value = "X-Queue-Token", required = false) String queueToken,
+            @AuthenticationPrincipal AuthenticatedUser user,
             HttpServletRequest httpRequest) {
         try {
-            // Get authenticated user
-            String email = org.springframework.security.core.context.SecurityContextHolder.getContext()
-                    .getAuthentication().getName();
-            com.example.ticket.domain.entity.User user = userRepository.findByEmail(email)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            // Reject sold-out / not-yet-open events before any DB or Redis I/O
+            soldOutRegistry.checkPurchasable(request.getEventId());
+
+            // Only users admitted from the waiting room may order (when enabled); one order per admission
+            Admission admission = waitingRoomService.consumeAdmission(request.getEventId(), queueToken, user.email());
 
             String ipAddress = getClientIp(httpRequest);
-            // Pass userId to service
-            OrderResponse order = orderService.createOrder(request, ipAddress, user.getId());
+            OrderResponse order;
+            try {
+                // The user id comes from the token: no user lookup on the order path
+                order = orderService.createOrder(request, ipAddress, user.id());
+            } catch (RuntimeException e) {
+                waitingRoomService.readmit(admission);
+                throw e;
+            }
             return ResponseEntity.ok(ApiResponse.success("Order created successfully", order));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -42,23 +42,17 @@ public class PaymentController {
                         "message", "Invalid signature"));
             }
 
-            // Process the callback
-            Payment payment = vnPayService.processCallback(params);
+            // Process the callback (payment, order and outbox in one transaction)
+            Payment payment = orderService.processPaymentCallback(params);
             String orderCode = payment.getOrder().getOrderCode();
 
             if (payment.getStatus() == PaymentStatus.SUCCESS) {
-                // Trigger async order finalization via SQS
-                orderService.handlePaymentSuccess(orderCode);
-
                 return ResponseEntity.ok(Map.of(
                         "success", true,
                         "message", "Payment successful",
                         "orderCode", orderCode,
                         "redirectUrl", "/payment/success?orderCode=" + orderCode));
             } else {
-                // Handle payment failure
-                orderService.handlePaymentFailure(orderCode);
-
                 Long eventId = payment.getOrder().getEvent().getId();
 
                 return ResponseEntity.ok(Map.of(
@@ -95,28 +89,12 @@ public class PaymentController {
                         "Message", "Invalid signature"));
             }
 
-            String vnpTxnRef = params.get("vnp_TxnRef");
-            String responseCode = params.get("vnp_ResponseCode");
-
-            // Process the IPN
-            Payment payment = vnPayService.processCallback(params);
-            String orderCode = payment.getOrder().getOrderCode();
-
-            if ("00".equals(responseCode)) {
-                // Payment successful - trigger async processing
-                orderService.handlePaymentSuccess(orderCode);
+            // Process the IPN: success queues ORDER_PAID in the outbox, failure releases the tickets
+            orderService.processPaymentCallback(params);
 
-                return ResponseEntity.ok(Map.of(
-                        "RspCode", "00",
-                        "Message", "Confirm Success"));
-            } else {
-                // Payment failed
-                orderService.handlePaymentFailure(orderCode);
-
-                return ResponseEntity.ok(Map.of(
-                        "RspCode", "00",
-                        "Message", "Confirm Success"));
-            }
+            return ResponseEntity.ok(Map.of(
+                    "RspCode", "00",
+                    "Message", "Confirm Success"));
         } catch (Exception e) {
             log.error("Error processing VNPay IPN", e);
             return ResponseEntity.ok(Map.of(
@@ -0,0 +1,50 @@
+package com.example.ticket.controller;
+
+import com.example.ticket.dto.response.ApiResponse;
+import com.example.ticket.dto.response.QueueStatusResponse;
+import com.example.ticket.service.WaitingRoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for the flash-sale waiting room.
+ * Clients join, then poll their position until admitted.
+ */
+@RestController
+@RequestMapping("/api/queue")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    /**
+     * Join the waiting room for an event and get a queue token.
+     */
+    @PostMapping("/events/{eventId}")
+    public ResponseEntity<ApiResponse<QueueStatusResponse>> join(@PathVariable Long eventId) {
+        try {
+            String email = SecurityContextHolder.getContext().getAuthentication().getName();
+            QueueStatusResponse status = waitingRoomService.join(eventId, email);
+            return ResponseEntity.ok(ApiResponse.success(status));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Poll queue position for a token.
+     */
+    @GetMapping("/{token}")
+    public ResponseEntity<ApiResponse<QueueStatusResponse>> getStatus(@PathVariable String token) {
+        try {
+            QueueStatusResponse status = waitingRoomService.getStatus(token);
+            return ResponseEntity.ok(ApiResponse.success(status));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.ticket.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Highest fencing token that has written on behalf of a scheduled job.
+ * A node whose lease has been taken over holds a lower token and is rejected.
+ */
+@Entity
+@Table(name = "job_fences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobFence {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Column(nullable = false)
+    private long token;
+}
@@ -1,6 +1,7 @@
 package com.example.ticket.domain.entity;
 
 import com.example.ticket.domain.enums.OrderStatus;
+import com.example.ticket.domain.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -17,7 +18,7 @@ import java.util.List;
         @Index(name = "idx_order_code", columnList = "order_code", unique = true),
         @Index(name = "idx_order_user", columnList = "user_id"),
         @Index(name = "idx_order_status", columnList = "status"),
-        @Index(name = "idx_order_expired", columnList = "expired_at")
+        @Index(name = "idx_order_expired", columnList = "status, expired_at")
 })
 @Getter
 @Setter
@@ -27,7 +28,7 @@ import java.util.List;
 public class Order extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(name = "order_code", nullable = false, unique = true, length = 50)
@@ -0,0 +1,41 @@
+package com.example.ticket.domain.entity;
+
+import com.example.ticket.domain.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message waiting to be published to the queue.
+ * Written in the same transaction as the state change it announces and deleted once the
+ * relay has delivered it.
+ */
+@Entity
+@Table(name = "outbox", indexes = {
+        @Index(name = "idx_outbox_next_attempt", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage extends BaseEntity {
+
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(nullable = false, length = 30)
+    private String type;
+
+    @Column(nullable = false, length = 1000)
+    private String payload;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+}
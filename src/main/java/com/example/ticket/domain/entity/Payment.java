@@ -1,6 +1,7 @@
 package com.example.ticket.domain.entity;
 
 import com.example.ticket.domain.enums.PaymentStatus;
+import com.example.ticket.domain.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -24,7 +25,7 @@ import java.time.LocalDateTime;
 public class Payment extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @OneToOne(fetch = FetchType.LAZY)
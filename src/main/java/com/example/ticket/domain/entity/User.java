@@ -1,5 +1,6 @@
 package com.example.ticket.domain.entity;
 
+import com.example.ticket.domain.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -22,7 +23,7 @@ import java.util.List;
 public class User extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false, unique = true, length = 100)
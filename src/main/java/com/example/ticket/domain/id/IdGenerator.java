@@ -0,0 +1,31 @@
+package com.example.ticket.domain.id;
+
+/**
+ * Source of unique, roughly time-ordered 64-bit IDs for entities and order codes.
+ */
+public interface IdGenerator {
+
+    char[] CROCKFORD_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    /**
+     * Next unique positive ID.
+     */
+    long nextId();
+
+    /**
+     * Next ID as a 13-character Crockford base32 string (no I, L, O or U), which sorts
+     * in the same order as the numeric IDs.
+     */
+    default String nextCode() {
+        return toCode(nextId());
+    }
+
+    static String toCode(long id) {
+        char[] chars = new char[13];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = CROCKFORD_ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.ticket.domain.id;
+
+/**
+ * Static access to the application's {@link IdGenerator} for Hibernate, which creates
+ * ID generators itself rather than taking them from the Spring context.
+ */
+public final class IdGenerators {
+
+    private static volatile IdGenerator instance;
+
+    private IdGenerators() {
+    }
+
+    public static void install(IdGenerator generator) {
+        instance = generator;
+    }
+
+    public static IdGenerator get() {
+        IdGenerator generator = instance;
+        if (generator == null) {
+            throw new IllegalStateException("ID generator not initialized");
+        }
+        return generator;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ticket.domain.id;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style generator: 41 bits of milliseconds since a custom epoch, 10 bits of
+ * node ID and 12 bits of per-millisecond sequence. Needs no coordination beyond a
+ * unique node ID per instance.
+ * <p>
+ * Timestamp and sequence share one {@link AtomicLong}, so generation is a single CAS.
+ * When the sequence runs out, or the clock moves backwards, the generator keeps counting
+ * on from the last timestamp instead of blocking, and the clock catches up later.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long epochMillis;
+    private final long node;
+    private final Clock clock;
+
+    /**
+     * Last issued (timestamp << SEQUENCE_BITS | sequence).
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(int nodeId, Instant epoch) {
+        this(nodeId, epoch, Clock.systemUTC());
+    }
+
+    SnowflakeIdGenerator(int nodeId, Instant epoch, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.node = nodeId;
+        this.epochMillis = epoch.toEpochMilli();
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = clock.millis() - epochMillis;
+            // Same (or earlier) millisecond: bump the sequence; an overflow carries into the timestamp
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)
+                        | node << SEQUENCE_BITS
+                        | next & SEQUENCE_MASK;
+            }
+        }
+    }
+
+    public int getNodeId() {
+        return (int) node;
+    }
+}
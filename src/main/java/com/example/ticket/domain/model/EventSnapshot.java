@@ -0,0 +1,87 @@
+package com.example.ticket.domain.model;
+
+import com.example.ticket.domain.entity.Event;
+import com.example.ticket.domain.enums.EventStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of an event's metadata, safe to share between threads in the event cache.
+ * {@code availableTickets} is the database value when the snapshot was taken; live stock
+ * comes from the Redis inventory.
+ */
+public record EventSnapshot(
+        Long id,
+        String name,
+        String description,
+        String venue,
+        String address,
+        LocalDateTime eventDate,
+        LocalDateTime endDate,
+        BigDecimal basePrice,
+        Integer totalTickets,
+        Integer availableTickets,
+        String imageUrl,
+        Long version,
+        EventStatus status,
+        Integer maxTicketsPerUser,
+        LocalDateTime saleStartTime,
+        LocalDateTime saleEndTime) {
+
+    public static EventSnapshot of(Event event) {
+        return new EventSnapshot(
+                event.getId(),
+                event.getName(),
+                event.getDescription(),
+                event.getVenue(),
+                event.getAddress(),
+                event.getEventDate(),
+                event.getEndDate(),
+                event.getBasePrice(),
+                event.getTotalTickets(),
+                event.getAvailableTickets(),
+                event.getImageUrl(),
+                event.getVersion(),
+                event.getStatus(),
+                event.getMaxTicketsPerUser(),
+                event.getSaleStartTime(),
+                event.getSaleEndTime());
+    }
+
+    /**
+     * Detached entity for use as an association (e.g. {@code Order.event}); never saved itself.
+     */
+    public Event toEntity() {
+        return Event.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .venue(venue)
+                .address(address)
+                .eventDate(eventDate)
+                .endDate(endDate)
+                .basePrice(basePrice)
+                .totalTickets(totalTickets)
+                .availableTickets(availableTickets)
+                .imageUrl(imageUrl)
+                .version(version)
+                .status(status)
+                .maxTicketsPerUser(maxTicketsPerUser)
+                .saleStartTime(saleStartTime)
+                .saleEndTime(saleEndTime)
+                .build();
+    }
+
+    /**
+     * Same as {@link Event#isOnSale()} minus the stock check, which a cached copy cannot
+     * answer; the Redis hold decides that.
+     */
+    public boolean isSaleOpen() {
+        LocalDateTime now = LocalDateTime.now();
+        return status == EventStatus.ON_SALE
+                && eventDate.isAfter(now)
+                && (saleStartTime == null || !now.isBefore(saleStartTime))
+                && (saleEndTime == null || !now.isAfter(saleEndTime));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.ticket.domain.model;
+
+/**
+ * The parts of a pending order needed to release its hold.
+ */
+public record ExpiringOrder(String orderCode, Long userId, Long eventId, int quantity) {
+
+    /**
+     * Map a {@code [order_code, user_id, event_id, quantity]} native query row.
+     */
+    public static ExpiringOrder fromRow(Object[] row) {
+        return new ExpiringOrder(
+                (String) row[0],
+                row[1] != null ? ((Number) row[1]).longValue() : null,
+                ((Number) row[2]).longValue(),
+                ((Number) row[3]).intValue());
+    }
+}
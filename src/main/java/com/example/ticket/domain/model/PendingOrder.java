@@ -0,0 +1,52 @@
+package com.example.ticket.domain.model;
+
+import com.example.ticket.domain.entity.Order;
+import com.example.ticket.domain.entity.Payment;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Accepted order (with its payment) waiting to be written to MySQL in write-behind mode.
+ * Flat and immutable so it can be journaled as one JSON line.
+ */
+public record PendingOrder(
+        Long orderId,
+        Long paymentId,
+        String orderCode,
+        Long userId,
+        Long eventId,
+        String eventName,
+        int quantity,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt,
+        LocalDateTime expiredAt,
+        String customerName,
+        String customerEmail,
+        String customerPhone,
+        String paymentMethod,
+        String vnpayTxnRef,
+        String paymentUrl,
+        String ipAddress) {
+
+    public static PendingOrder of(Order order, Payment payment, Long userId) {
+        return new PendingOrder(
+                order.getId(),
+                payment.getId(),
+                order.getOrderCode(),
+                userId,
+                order.getEvent().getId(),
+                order.getEvent().getName(),
+                order.getQuantity(),
+                order.getTotalAmount(),
+                order.getCreatedAt(),
+                order.getExpiredAt(),
+                order.getCustomerName(),
+                order.getCustomerEmail(),
+                order.getCustomerPhone(),
+                payment.getPaymentMethod(),
+                payment.getVnpayTxnRef(),
+                payment.getPaymentUrl(),
+                payment.getIpAddress());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.ticket.domain.repository;
+
+import com.example.ticket.domain.entity.JobFence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobFenceRepository extends JpaRepository<JobFence, String> {
+
+    /**
+     * Create the fence row for a job if it does not exist yet.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO job_fences (job_name, token) VALUES (:jobName, 0)", nativeQuery = true)
+    int createIfMissing(@Param("jobName") String jobName);
+
+    /**
+     * Record {@code token} as the job's current token unless a higher one has already written.
+     * The row stays locked until the surrounding transaction ends.
+     *
+     * @return 1 if the token is current, 0 if it has been superseded
+     */
+    @Modifying
+    @Query("UPDATE JobFence f SET f.token = :token WHERE f.jobName = :jobName AND f.token <= :token")
+    int advance(@Param("jobName") String jobName, @Param("token") long token);
+}
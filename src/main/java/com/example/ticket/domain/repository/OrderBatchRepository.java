@@ -0,0 +1,120 @@
+package com.example.ticket.domain.repository;
+
+import com.example.ticket.domain.enums.OrderStatus;
+import com.example.ticket.domain.enums.PaymentStatus;
+import com.example.ticket.domain.model.PendingOrder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Multi-row JDBC writes for write-behind order persistence.
+ * Orders and payments carry their generated IDs, so each batch is written as a single
+ * multi-row INSERT per table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderBatchRepository {
+
+    private static final String ORDER_COLUMNS = "(id, order_code, user_id, event_id, quantity, total_amount, "
+            + "status, expired_at, customer_name, customer_email, customer_phone, created_at, updated_at)";
+    private static final String ORDER_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String PAYMENT_COLUMNS = "(id, order_id, payment_method, amount, status, vnpay_txn_ref, "
+            + "payment_url, ip_address, created_at, updated_at)";
+    private static final String PAYMENT_VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Find which of the given order codes are already stored (used when replaying the journal).
+     */
+    public Set<String> findExistingOrderCodes(Collection<String> orderCodes) {
+        if (orderCodes.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT order_code FROM orders WHERE order_code IN (:codes)",
+                new MapSqlParameterSource("codes", orderCodes), String.class));
+    }
+
+    /**
+     * Insert all orders in one statement.
+     */
+    public void insertOrders(List<PendingOrder> orders) {
+        List<Object> args = new ArrayList<>(orders.size() * 13);
+        for (PendingOrder order : orders) {
+            args.add(order.orderId());
+            args.add(order.orderCode());
+            args.add(order.userId());
+            args.add(order.eventId());
+            args.add(order.quantity());
+            args.add(order.totalAmount());
+            args.add(OrderStatus.PENDING.name());
+            args.add(order.expiredAt());
+            args.add(order.customerName());
+            args.add(order.customerEmail());
+            args.add(order.customerPhone());
+            args.add(order.createdAt());
+            args.add(order.createdAt());
+        }
+        jdbcTemplate.getJdbcTemplate().update(
+                "INSERT INTO orders " + ORDER_COLUMNS + " VALUES " + repeat(ORDER_VALUES, orders.size()),
+                args.toArray());
+    }
+
+    /**
+     * Insert the payments for already inserted orders in one statement.
+     */
+    public void insertPayments(List<PendingOrder> orders) {
+        List<Object> args = new ArrayList<>(orders.size() * 10);
+        for (PendingOrder order : orders) {
+            args.add(order.paymentId());
+            args.add(order.orderId());
+            args.add(order.paymentMethod());
+            args.add(order.totalAmount());
+            args.add(PaymentStatus.PENDING.name());
+            args.add(order.vnpayTxnRef());
+            args.add(order.paymentUrl());
+            args.add(order.ipAddress());
+            args.add(order.createdAt());
+            args.add(order.createdAt());
+        }
+        jdbcTemplate.getJdbcTemplate().update(
+                "INSERT INTO payments " + PAYMENT_COLUMNS + " VALUES " + repeat(PAYMENT_VALUES, orders.size()),
+                args.toArray());
+    }
+
+    /**
+     * Decrement event stock once per event for the whole batch.
+     */
+    public void decrementAvailableTickets(Map<Long, Integer> quantitiesByEvent) {
+        List<Object[]> args = new ArrayList<>(quantitiesByEvent.size());
+        LocalDateTime now = LocalDateTime.now();
+        quantitiesByEvent.forEach((eventId, quantity) -> args.add(new Object[] { quantity, now, eventId, quantity }));
+        jdbcTemplate.getJdbcTemplate().batchUpdate(
+                "UPDATE events SET available_tickets = available_tickets - ?, updated_at = ? "
+                        + "WHERE id = ? AND available_tickets >= ?",
+                args);
+    }
+
+    private static String repeat(String values, int count) {
+        StringBuilder sql = new StringBuilder(values.length() * count + count * 2);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(values);
+        }
+        return sql.toString();
+    }
+}
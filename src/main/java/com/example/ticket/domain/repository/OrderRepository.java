@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +53,68 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("UPDATE Order o SET o.status = 'PAID', o.paidAt = :paidAt WHERE o.orderCode = :orderCode")
     int markAsPaid(@Param("orderCode") String orderCode, @Param("paidAt") LocalDateTime paidAt);
 
+    /**
+     * Lock the given orders and return their codes and statuses as {@code [orderCode, status]} rows.
+     */
+    @Query(value = "SELECT order_code, status FROM orders WHERE order_code IN (:orderCodes) FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> lockStatusesByOrderCodes(@Param("orderCodes") Collection<String> orderCodes);
+
+    /**
+     * Mark every still-PENDING order among the given codes as PAID in one statement.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = 'PAID', o.paidAt = :paidAt "
+            + "WHERE o.orderCode IN :orderCodes AND o.status = 'PENDING'")
+    int markAsPaid(@Param("orderCodes") Collection<String> orderCodes, @Param("paidAt") LocalDateTime paidAt);
+
+    /**
+     * Lock the still-PENDING orders among the given codes as
+     * {@code [order_code, user_id, event_id, quantity]} rows.
+     */
+    @Query(value = "SELECT order_code, user_id, event_id, quantity FROM orders "
+            + "WHERE order_code IN (:orderCodes) AND status = 'PENDING' FOR UPDATE", nativeQuery = true)
+    List<Object[]> lockPendingByOrderCodes(@Param("orderCodes") Collection<String> orderCodes);
+
+    /**
+     * Lock the PENDING orders among the given codes whose hold has run out by {@code now}, as
+     * {@code [order_code, user_id, event_id, quantity]} rows.
+     */
+    @Query(value = "SELECT order_code, user_id, event_id, quantity FROM orders "
+            + "WHERE order_code IN (:orderCodes) AND status = 'PENDING' AND expired_at <= :now FOR UPDATE",
+            nativeQuery = true)
+    List<Object[]> lockDuePendingByOrderCodes(@Param("orderCodes") Collection<String> orderCodes,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Hold deadlines of the still-PENDING orders among the given codes, as
+     * {@code [order_code, expired_at]} rows.
+     */
+    @Query(value = "SELECT order_code, expired_at FROM orders "
+            + "WHERE order_code IN (:orderCodes) AND status = 'PENDING'", nativeQuery = true)
+    List<Object[]> findPendingDeadlines(@Param("orderCodes") Collection<String> orderCodes);
+
+    /**
+     * Lock the next chunk of expired PENDING orders after the {@code (expiredAt, id)} cursor, as
+     * {@code [order_code, user_id, event_id, quantity, id, expired_at]} rows in keyset order.
+     * Walks {@code idx_order_expired (status, expired_at)}; rows locked by a concurrent
+     * payment or expiry are skipped and picked up by the next run.
+     */
+    @Query(value = "SELECT order_code, user_id, event_id, quantity, id, expired_at FROM orders "
+            + "WHERE status = 'PENDING' AND expired_at < :now "
+            + "AND (expired_at > :afterExpiredAt OR (expired_at = :afterExpiredAt AND id > :afterId)) "
+            + "ORDER BY expired_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Object[]> lockExpiredChunk(@Param("now") LocalDateTime now,
+            @Param("afterExpiredAt") LocalDateTime afterExpiredAt, @Param("afterId") long afterId,
+            @Param("limit") int limit);
+
+    /**
+     * Mark every still-PENDING order among the given codes as FAILED in one statement.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.status = 'FAILED' WHERE o.orderCode IN :orderCodes AND o.status = 'PENDING'")
+    int markAsFailed(@Param("orderCodes") Collection<String> orderCodes);
+
     /**
      * Count total tickets purchased by user for a specific event.
      */
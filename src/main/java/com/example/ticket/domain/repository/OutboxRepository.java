@@ -0,0 +1,30 @@
+package com.example.ticket.domain.repository;
+
+import com.example.ticket.domain.entity.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    /**
+     * Lock up to {@code limit} due messages, skipping rows another relay has locked.
+     */
+    @Query(value = "SELECT id FROM outbox WHERE next_attempt_at <= :now ORDER BY id LIMIT :limit "
+            + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockDueIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Hide claimed messages from other relays until the lease runs out.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage m SET m.nextAttemptAt = :until WHERE m.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids, @Param("until") LocalDateTime until);
+}
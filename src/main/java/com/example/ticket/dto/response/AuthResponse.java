@@ -1,5 +1,6 @@
 package com.example.ticket.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,6 +8,8 @@ import lombok.Data;
 @Builder
 public class AuthResponse {
     private String token;
+    // Snowflake IDs exceed 2^53: sent as strings so JavaScript clients do not round them
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String email;
     private String fullName;
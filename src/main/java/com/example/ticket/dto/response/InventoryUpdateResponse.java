@@ -0,0 +1,20 @@
+package com.example.ticket.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Live stock pushed to inventory stream subscribers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryUpdateResponse {
+
+    private Long eventId;
+    private int availableTickets;
+    private boolean soldOut;
+}
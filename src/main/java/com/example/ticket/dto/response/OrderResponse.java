@@ -1,6 +1,7 @@
 package com.example.ticket.dto.response;
 
 import com.example.ticket.domain.enums.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,6 +19,8 @@ import java.time.LocalDateTime;
 @Builder
 public class OrderResponse {
 
+    // Snowflake IDs exceed 2^53: sent as strings so JavaScript clients do not round them
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String orderCode;
     private Long eventId;
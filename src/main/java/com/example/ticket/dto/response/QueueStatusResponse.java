@@ -0,0 +1,24 @@
+package com.example.ticket.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for a waiting room position.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueueStatusResponse {
+
+    private String token;
+    private Long eventId;
+    private boolean admitted;
+
+    // 1-based position in the queue, null once admitted
+    private Long position;
+    private Long estimatedWaitSeconds;
+}
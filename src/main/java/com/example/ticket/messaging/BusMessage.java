@@ -0,0 +1,9 @@
+package com.example.ticket.messaging;
+
+/**
+ * A received message.
+ *
+ * @param receiptHandle handle for {@link MessageBus#delete} and {@link MessageBus#extendVisibility}
+ */
+public record BusMessage(String receiptHandle, String body) {
+}
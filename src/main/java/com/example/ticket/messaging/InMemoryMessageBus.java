@@ -0,0 +1,158 @@
+package com.example.ticket.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-JVM message bus for single-node deployments and tests.
+ * Messages sit on a lock-free queue bounded by a CAS-reserved size; receivers wait on a
+ * semaphore that counts ready messages. Received messages are tracked until deleted and
+ * put back once their visibility timeout passes, like SQS.
+ * <p>
+ * Nothing survives a restart: messages sent but not yet processed are lost.
+ */
+@Slf4j
+public class InMemoryMessageBus implements MessageBus {
+
+    private static final int BATCH_SIZE = 100;
+
+    private record InFlight(BusMessage message, long deadlineNanos) {
+    }
+
+    private final int capacity;
+    private final Queue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Semaphore ready = new Semaphore(0);
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong receipts = new AtomicLong();
+
+    public InMemoryMessageBus(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return BATCH_SIZE;
+    }
+
+    @Override
+    public CompletableFuture<Set<Integer>> send(List<String> bodies) {
+        Set<Integer> rejected = new HashSet<>();
+        for (int i = 0; i < bodies.size(); i++) {
+            if (!offer(bodies.get(i))) {
+                rejected.add(i);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            log.warn("In-memory bus full ({} messages), rejected {} of {}", capacity, rejected.size(), bodies.size());
+        }
+        return CompletableFuture.completedFuture(rejected);
+    }
+
+    /**
+     * Blocks the calling thread for up to {@code waitTime}; the returned future is already complete.
+     */
+    @Override
+    public CompletableFuture<List<BusMessage>> receive(int maxMessages, Duration waitTime,
+            Duration visibilityTimeout) {
+        requeueExpired();
+
+        List<BusMessage> messages = new ArrayList<>();
+        try {
+            if (!ready.tryAcquire(waitTime.toNanos(), TimeUnit.NANOSECONDS)) {
+                return CompletableFuture.completedFuture(messages);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.completedFuture(messages);
+        }
+
+        int taken = 1;
+        int limit = Math.min(maxMessages, BATCH_SIZE);
+        while (taken < limit && ready.tryAcquire()) {
+            taken++;
+        }
+
+        long deadline = System.nanoTime() + visibilityTimeout.toNanos();
+        for (int i = 0; i < taken; i++) {
+            // Every permit was released after its offer, so the poll cannot come back empty
+            String body = queue.poll();
+            size.decrementAndGet();
+            BusMessage message = new BusMessage(Long.toString(receipts.incrementAndGet()), body);
+            inFlight.put(message.receiptHandle(), new InFlight(message, deadline));
+            messages.add(message);
+        }
+        return CompletableFuture.completedFuture(messages);
+    }
+
+    @Override
+    public CompletableFuture<List<String>> delete(List<String> receiptHandles) {
+        List<String> unknown = new ArrayList<>();
+        for (String receiptHandle : receiptHandles) {
+            if (inFlight.remove(receiptHandle) == null) {
+                unknown.add(receiptHandle);
+            }
+        }
+        return CompletableFuture.completedFuture(unknown);
+    }
+
+    @Override
+    public CompletableFuture<Void> extendVisibility(List<String> receiptHandles, Duration visibilityTimeout) {
+        long deadline = System.nanoTime() + visibilityTimeout.toNanos();
+        for (String receiptHandle : receiptHandles) {
+            inFlight.computeIfPresent(receiptHandle, (key, entry) -> new InFlight(entry.message(), deadline));
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Messages waiting to be received.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private boolean offer(String body) {
+        int current;
+        do {
+            current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+        } while (!size.compareAndSet(current, current + 1));
+
+        queue.offer(body);
+        ready.release();
+        return true;
+    }
+
+    /**
+     * Put messages whose visibility timeout has passed back on the queue for redelivery.
+     */
+    private void requeueExpired() {
+        long now = System.nanoTime();
+        for (InFlight entry : inFlight.values()) {
+            if (now - entry.deadlineNanos() > 0
+                    && inFlight.remove(entry.message().receiptHandle(), entry)) {
+                // Redelivery bypasses the capacity check: the message was already accepted
+                size.incrementAndGet();
+                queue.offer(entry.message().body());
+                ready.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ticket.messaging;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Queue used to hand ORDER_PAID messages from the outbox relay to the payment worker.
+ * Semantics follow SQS: a received message stays invisible to other receivers for the
+ * visibility timeout and is redelivered unless it is deleted first.
+ */
+public interface MessageBus {
+
+    /**
+     * Largest batch accepted by {@link #send}, {@link #delete} and {@link #extendVisibility},
+     * and the most messages one {@link #receive} returns.
+     */
+    int maxBatchSize();
+
+    /**
+     * Publish message bodies.
+     *
+     * @return indexes of the bodies that were not accepted
+     */
+    CompletableFuture<Set<Integer>> send(List<String> bodies);
+
+    /**
+     * Wait up to {@code waitTime} for messages.
+     */
+    CompletableFuture<List<BusMessage>> receive(int maxMessages, Duration waitTime, Duration visibilityTimeout);
+
+    /**
+     * Acknowledge processed messages.
+     *
+     * @return receipt handles that could not be deleted
+     */
+    CompletableFuture<List<String>> delete(List<String> receiptHandles);
+
+    /**
+     * Keep messages that are still being processed invisible for another {@code visibilityTimeout}.
+     */
+    CompletableFuture<Void> extendVisibility(List<String> receiptHandles, Duration visibilityTimeout);
+}
@@ -0,0 +1,15 @@
+package com.example.ticket.messaging;
+
+/**
+ * ORDER_PAID queue message: an order's payment was confirmed and it can be finalized.
+ *
+ * @param timestamp epoch millis when the message was created
+ */
+public record OrderPaidMessage(String orderCode, long timestamp) {
+
+    public static final String TYPE = "ORDER_PAID";
+
+    public static OrderPaidMessage of(String orderCode) {
+        return new OrderPaidMessage(orderCode, System.currentTimeMillis());
+    }
+}
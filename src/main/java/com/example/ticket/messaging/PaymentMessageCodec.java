@@ -0,0 +1,155 @@
+package com.example.ticket.messaging;
+
+import com.example.ticket.config.MessageBusConfig;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Message bodies exchanged over the {@link MessageBus}.
+ * <p>
+ * Binary format, version 1 (big-endian, then unpadded base64 so it fits text queues):
+ * <pre>
+ * byte    version    (1)
+ * byte    type       (1 = ORDER_PAID)
+ * long    timestamp  (epoch millis)
+ * short   length of orderCode
+ * byte[]  orderCode  (UTF-8)
+ * </pre>
+ * Legacy JSON bodies ({@code {"type":"ORDER_PAID","orderCode":...}}) are still read, so
+ * messages already queued by older nodes keep working. Either form is decoded straight
+ * into an {@link OrderPaidMessage} with no intermediate map.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaymentMessageCodec {
+
+    static final byte VERSION_1 = 1;
+    static final byte TYPE_ORDER_PAID = 1;
+
+    private static final int HEADER_BYTES = 1 + 1 + Long.BYTES + Short.BYTES;
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final ObjectMapper objectMapper;
+    private final MessageBusConfig messageBusConfig;
+
+    /**
+     * Build the ORDER_PAID message body in the configured format.
+     */
+    public String encodeOrderPaid(String orderCode) {
+        return encode(OrderPaidMessage.of(orderCode));
+    }
+
+    public String encode(OrderPaidMessage message) {
+        return messageBusConfig.getFormat() == MessageBusConfig.Format.JSON
+                ? encodeJson(message)
+                : encodeBinary(message);
+    }
+
+    /**
+     * Parse message body to extract order code.
+     *
+     * @return the order code, or null if the body is unreadable
+     */
+    public String decodeOrderCode(String messageBody) {
+        OrderPaidMessage message = decode(messageBody);
+        return message != null ? message.orderCode() : null;
+    }
+
+    /**
+     * Decode a binary or legacy JSON body.
+     *
+     * @return the message, or null if the body is unreadable
+     */
+    public OrderPaidMessage decode(String messageBody) {
+        try {
+            if (!messageBody.isEmpty() && messageBody.charAt(0) == '{') {
+                return decodeJson(messageBody);
+            }
+            return decodeBinary(messageBody);
+        } catch (Exception e) {
+            log.error("Failed to parse message body: {}", messageBody, e);
+            return null;
+        }
+    }
+
+    String encodeBinary(OrderPaidMessage message) {
+        byte[] orderCode = message.orderCode().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + orderCode.length)
+                .put(VERSION_1)
+                .put(TYPE_ORDER_PAID)
+                .putLong(message.timestamp())
+                .putShort((short) orderCode.length)
+                .put(orderCode);
+        return ENCODER.encodeToString(buffer.array());
+    }
+
+    String encodeJson(OrderPaidMessage message) {
+        // Field order matches what older nodes wrote
+        StringBuilder json = new StringBuilder(64 + message.orderCode().length());
+        json.append("{\"type\":\"").append(OrderPaidMessage.TYPE)
+                .append("\",\"orderCode\":");
+        try {
+            json.append(objectMapper.writeValueAsString(message.orderCode()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to serialize ORDER_PAID message for order " + message.orderCode(), e);
+        }
+        return json.append(",\"timestamp\":").append(message.timestamp()).append('}').toString();
+    }
+
+    private OrderPaidMessage decodeBinary(String messageBody) {
+        ByteBuffer buffer = ByteBuffer.wrap(DECODER.decode(messageBody));
+        byte version = buffer.get();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("Unsupported message version " + version);
+        }
+        byte type = buffer.get();
+        if (type != TYPE_ORDER_PAID) {
+            throw new IllegalArgumentException("Unsupported message type " + type);
+        }
+        long timestamp = buffer.getLong();
+        int length = Short.toUnsignedInt(buffer.getShort());
+        String orderCode = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        return new OrderPaidMessage(orderCode, timestamp);
+    }
+
+    /**
+     * Stream through the legacy JSON body, picking out the known fields.
+     */
+    private OrderPaidMessage decodeJson(String messageBody) throws IOException {
+        String type = null;
+        String orderCode = null;
+        long timestamp = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(messageBody)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "type" -> type = parser.getValueAsString();
+                    case "orderCode" -> orderCode = parser.getValueAsString();
+                    case "timestamp" -> timestamp = value.isNumeric() ? parser.getLongValue() : 0;
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+
+        if (type != null && !OrderPaidMessage.TYPE.equals(type)) {
+            throw new IOException("Unsupported message type " + type);
+        }
+        return orderCode != null ? new OrderPaidMessage(orderCode, timestamp) : null;
+    }
+}
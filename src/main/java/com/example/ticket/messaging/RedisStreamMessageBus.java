@@ -0,0 +1,180 @@
+package com.example.ticket.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Message bus backed by a Redis stream and consumer group.
+ * Receipt handles are stream entry IDs. Entries left pending longer than the visibility
+ * timeout (the receiver died or gave up) are claimed again with XCLAIM; extending
+ * visibility re-claims an entry for the same consumer, which resets its idle time.
+ * Deleting acknowledges and removes the entry so the stream stays small.
+ * <p>
+ * Calls run on the caller's thread and return completed futures; a blocking receive is
+ * aborted by interrupting the receiver. Blocking reads go over the template's connections,
+ * so their wait is capped at {@code maxBlock}, below the Redis command timeout: a read that
+ * timed out client-side would still be served by Redis, leaving its entries pending until
+ * the visibility timeout.
+ */
+@Slf4j
+public class RedisStreamMessageBus implements MessageBus {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String BODY_FIELD = "body";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String streamKey;
+    private final String group;
+    private final String consumerName;
+    private final Duration maxBlock;
+
+    public RedisStreamMessageBus(StringRedisTemplate redisTemplate, String streamKey, String group,
+            String consumerName, Duration maxBlock) {
+        this.redisTemplate = redisTemplate;
+        this.streamKey = streamKey;
+        this.group = group;
+        this.consumerName = consumerName;
+        this.maxBlock = maxBlock;
+        createGroup();
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return BATCH_SIZE;
+    }
+
+    @Override
+    public CompletableFuture<Set<Integer>> send(List<String> bodies) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (String body : bodies) {
+                    stringConnection.xAdd(StreamRecords.string(Map.of(BODY_FIELD, body)).withStreamKey(streamKey));
+                }
+                return null;
+            });
+            return CompletableFuture.completedFuture(Set.of());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<BusMessage>> receive(int maxMessages, Duration waitTime,
+            Duration visibilityTimeout) {
+        try {
+            int limit = Math.min(maxMessages, BATCH_SIZE);
+            List<BusMessage> messages = new ArrayList<>(claimAbandoned(limit, visibilityTimeout));
+            if (messages.size() < limit) {
+                StreamReadOptions options = StreamReadOptions.empty().count(limit - messages.size());
+                if (messages.isEmpty() && !waitTime.isZero()) {
+                    options = options.block(waitTime.compareTo(maxBlock) < 0 ? waitTime : maxBlock);
+                }
+                List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                        Consumer.from(group, consumerName), options,
+                        StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+                messages.addAll(toMessages(records));
+            }
+            return CompletableFuture.completedFuture(messages);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<String>> delete(List<String> receiptHandles) {
+        try {
+            String[] ids = receiptHandles.toArray(String[]::new);
+            redisTemplate.opsForStream().acknowledge(streamKey, group, ids);
+            redisTemplate.opsForStream().delete(streamKey, ids);
+            return CompletableFuture.completedFuture(List.of());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> extendVisibility(List<String> receiptHandles, Duration visibilityTimeout) {
+        try {
+            redisTemplate.opsForStream().claim(streamKey, group, consumerName,
+                    RedisStreamCommands.XClaimOptions.minIdle(Duration.ZERO)
+                            .ids(receiptHandles.stream().map(RecordId::of).toArray(RecordId[]::new)));
+            return CompletableFuture.completedFuture(null);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Take over entries another receiver has left unacknowledged for longer than the
+     * visibility timeout.
+     */
+    private List<BusMessage> claimAbandoned(int limit, Duration visibilityTimeout) {
+        PendingMessages pending = redisTemplate.opsForStream().pending(streamKey, group, Range.unbounded(), limit);
+        if (pending == null || pending.isEmpty()) {
+            return List.of();
+        }
+
+        Set<RecordId> expired = new HashSet<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(visibilityTimeout) >= 0) {
+                expired.add(message.getId());
+            }
+        }
+        if (expired.isEmpty()) {
+            return List.of();
+        }
+
+        // min-idle makes the claim a no-op for entries someone else just extended
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(streamKey, group,
+                consumerName, RedisStreamCommands.XClaimOptions.minIdle(visibilityTimeout)
+                        .ids(expired.toArray(RecordId[]::new)));
+        log.info("Claimed {} abandoned messages from stream {}", claimed.size(), streamKey);
+        return toMessages(claimed);
+    }
+
+    private List<BusMessage> toMessages(List<MapRecord<String, Object, Object>> records) {
+        if (records == null) {
+            return List.of();
+        }
+        return records.stream()
+                .map(record -> new BusMessage(record.getId().getValue(), (String) record.getValue().get(BODY_FIELD)))
+                .toList();
+    }
+
+    /**
+     * Create the consumer group (and the stream) unless it already exists.
+     */
+    private void createGroup() {
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+                    streamKey.getBytes(StandardCharsets.UTF_8), group, ReadOffset.from("0"), true));
+            log.info("Created consumer group {} on stream {}", group, streamKey);
+        } catch (Exception e) {
+            // BUSYGROUP: created by an earlier run or another node
+            log.debug("Consumer group {} on stream {} not created: {}", group, streamKey, e.getMessage());
+        }
+    }
+}
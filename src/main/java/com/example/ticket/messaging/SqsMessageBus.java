@@ -0,0 +1,152 @@
+package com.example.ticket.messaging;
+
+import com.example.ticket.config.LatencyInjectionConfig;
+import com.example.ticket.service.LatencyInjector;
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Message bus backed by AWS SQS (LocalStack for local development).
+ * The queue is created, or looked up, asynchronously; startup does not wait for SQS and
+ * calls made before the queue URL is known simply wait for it.
+ */
+@Slf4j
+public class SqsMessageBus implements MessageBus {
+
+    private static final int SQS_BATCH_SIZE = 10;
+
+    private final SqsAsyncClient sqsAsyncClient;
+    private final LatencyInjector latencyInjector;
+    private final String queueName;
+
+    private volatile CompletableFuture<String> queueUrl;
+
+    public SqsMessageBus(SqsAsyncClient sqsAsyncClient, LatencyInjector latencyInjector, String queueName) {
+        this.sqsAsyncClient = sqsAsyncClient;
+        this.latencyInjector = latencyInjector;
+        this.queueName = queueName;
+        this.queueUrl = resolveQueueUrl();
+    }
+
+    @Override
+    public int maxBatchSize() {
+        return SQS_BATCH_SIZE;
+    }
+
+    @Override
+    public CompletableFuture<Set<Integer>> send(List<String> bodies) {
+        latencyInjector.inject(LatencyInjectionConfig.Point.SQS);
+
+        List<SendMessageBatchRequestEntry> entries = new ArrayList<>(bodies.size());
+        for (int i = 0; i < bodies.size(); i++) {
+            entries.add(SendMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .messageBody(bodies.get(i))
+                    .build());
+        }
+
+        return queueUrl().thenCompose(url -> sqsAsyncClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                        .queueUrl(url)
+                        .entries(entries)
+                        .build()))
+                .thenApply(response -> response.failed().stream()
+                        .map(failure -> Integer.parseInt(failure.id()))
+                        .collect(Collectors.toSet()));
+    }
+
+    @Override
+    public CompletableFuture<List<BusMessage>> receive(int maxMessages, Duration waitTime,
+            Duration visibilityTimeout) {
+        return queueUrl().thenCompose(url -> sqsAsyncClient.receiveMessage(ReceiveMessageRequest.builder()
+                        .queueUrl(url)
+                        .maxNumberOfMessages(Math.min(maxMessages, SQS_BATCH_SIZE))
+                        .waitTimeSeconds((int) waitTime.toSeconds())
+                        .visibilityTimeout((int) visibilityTimeout.toSeconds())
+                        .build()))
+                .thenApply(response -> response.messages().stream()
+                        .map(message -> new BusMessage(message.receiptHandle(), message.body()))
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<List<String>> delete(List<String> receiptHandles) {
+        List<DeleteMessageBatchRequestEntry> entries = new ArrayList<>(receiptHandles.size());
+        for (int i = 0; i < receiptHandles.size(); i++) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .receiptHandle(receiptHandles.get(i))
+                    .build());
+        }
+
+        return queueUrl().thenCompose(url -> sqsAsyncClient.deleteMessageBatch(DeleteMessageBatchRequest.builder()
+                        .queueUrl(url)
+                        .entries(entries)
+                        .build()))
+                .thenApply(response -> response.failed().stream()
+                        .map(failure -> receiptHandles.get(Integer.parseInt(failure.id())))
+                        .toList());
+    }
+
+    @Override
+    public CompletableFuture<Void> extendVisibility(List<String> receiptHandles, Duration visibilityTimeout) {
+        List<ChangeMessageVisibilityBatchRequestEntry> entries = new ArrayList<>(receiptHandles.size());
+        for (int i = 0; i < receiptHandles.size(); i++) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                    .id(String.valueOf(i))
+                    .receiptHandle(receiptHandles.get(i))
+                    .visibilityTimeout((int) visibilityTimeout.toSeconds())
+                    .build());
+        }
+
+        return queueUrl().thenCompose(url -> sqsAsyncClient.changeMessageVisibilityBatch(
+                        ChangeMessageVisibilityBatchRequest.builder()
+                                .queueUrl(url)
+                                .entries(entries)
+                                .build()))
+                .thenApply(response -> null);
+    }
+
+    /**
+     * The queue URL, resolving it again if the last attempt failed (e.g. SQS was not up yet).
+     */
+    private CompletableFuture<String> queueUrl() {
+        CompletableFuture<String> current = queueUrl;
+        if (current.isCompletedExceptionally()) {
+            synchronized (this) {
+                if (queueUrl == current) {
+                    queueUrl = resolveQueueUrl();
+                }
+                current = queueUrl;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Create the queue if it doesn't exist (for LocalStack), else look it up.
+     */
+    private CompletableFuture<String> resolveQueueUrl() {
+        return sqsAsyncClient.createQueue(CreateQueueRequest.builder().queueName(queueName).build())
+                .thenApply(CreateQueueResponse::queueUrl)
+                .exceptionallyCompose(e -> {
+                    log.warn("Could not create queue (may already exist): {}", e.getMessage());
+                    return sqsAsyncClient.getQueueUrl(GetQueueUrlRequest.builder().queueName(queueName).build())
+                            .thenApply(GetQueueUrlResponse::queueUrl);
+                })
+                .whenComplete((url, e) -> {
+                    if (e != null) {
+                        log.error("SQS queue {} is not available: {}", queueName, e.getMessage());
+                    } else {
+                        log.info("SQS Queue URL: {}", url);
+                    }
+                });
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ticket.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * The caller of an authenticated request, built from the signed JWT claims alone.
+ * {@link #getName()} is the email, so {@code Authentication.getName()} keeps working.
+ */
+public record AuthenticatedUser(Long id, String email, String role) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return role != null ? List.of(new SimpleGrantedAuthority("ROLE_" + role)) : List.of();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.ticket.security;
 
+import com.example.ticket.domain.entity.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -14,17 +16,36 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+/**
+ * Issues and parses JWTs. The signing key and parser are built once and shared by all
+ * threads; request authentication goes through {@link TokenVerifier}.
+ * <p>
+ * Role and enabled flag are read from the token, so changes go through
+ * {@link com.example.ticket.service.UserService}, which revokes the old tokens. A change
+ * made directly in the database applies only once the old tokens expire.
+ */
 @Component
 public class JwtUtils {
 
-    @Value("${jwt.secret:9a4f2c8d3b7a1e6f4g5h8i0j1k2l3m4n5o6p7q8r9s0t1u2v3w4x5y6z}")
-    private String secret;
+    /**
+     * Claims that let a request be authenticated without loading the user.
+     */
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String ENABLED_CLAIM = "enabled";
 
-    @Value("${jwt.expiration:86400000}") // 24 hours
-    private long jwtExpiration;
+    private final long jwtExpiration;
+    private final Key signInKey;
+    private final JwtParser parser;
 
-    private Key getSignInKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    public JwtUtils(
+            @Value("${jwt.secret:9a4f2c8d3b7a1e6f4g5h8i0j1k2l3m4n5o6p7q8r9s0t1u2v3w4x5y6z}") String secret,
+            @Value("${jwt.expiration:86400000}") long jwtExpiration) { // 24 hours
+        this.jwtExpiration = jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
     }
 
     public String extractUsername(String token) {
@@ -36,12 +57,24 @@ public class JwtUtils {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verify the signature and expiry of a token and return its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Issue a token carrying the user's id, role and enabled state.
+     */
+    public String generateToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole());
+        claims.put(ENABLED_CLAIM, user.getEnabled());
+        return buildToken(claims, user.getEmail(), jwtExpiration);
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -49,29 +82,28 @@ public class JwtUtils {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        return buildToken(extraClaims, userDetails.getUsername(), jwtExpiration);
     }
 
-    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+    private String buildToken(Map<String, Object> extraClaims, String subject, long expiration) {
         return Jwts.builder()
                 .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
+                .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Parses the token once; the parser has already rejected it if it is expired.
+     */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public long getExpiration() {
+        return jwtExpiration;
     }
 }
@@ -0,0 +1,79 @@
+package com.example.ticket.security;
+
+import com.example.ticket.config.TokenCacheConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Verifies bearer tokens for request authentication.
+ * Each token is parsed once into a {@link VerifiedToken}. Verified tokens are kept for a
+ * short time in a bounded cache keyed by the SHA-256 of the token, so repeat requests skip
+ * the signature check and JSON parsing; the raw token is never stored. A cached entry is
+ * dropped once its token expires. Invalid tokens are not cached.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVerifier {
+
+    private final JwtUtils jwtUtils;
+    private final TokenCacheConfig tokenCacheConfig;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, VerifiedToken> verified;
+
+    @PostConstruct
+    public void init() {
+        if (!tokenCacheConfig.isEnabled()) {
+            return;
+        }
+        verified = Caffeine.newBuilder()
+                .maximumSize(tokenCacheConfig.getMaximumSize())
+                .expireAfterWrite(tokenCacheConfig.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "tokens.verified");
+    }
+
+    /**
+     * Check a token's signature and expiry and read its claims.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (verified == null) {
+            return VerifiedToken.from(jwtUtils.extractAllClaims(token));
+        }
+
+        String key = hash(token);
+        VerifiedToken cached = verified.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.isExpired(System.currentTimeMillis())) {
+                return cached;
+            }
+            verified.invalidate(key);
+        }
+
+        VerifiedToken result = VerifiedToken.from(jwtUtils.extractAllClaims(token));
+        verified.put(key, result);
+        return result;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.ticket.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local list of users whose tokens must no longer be accepted (disabled accounts,
+ * "log out everywhere"), so JWT authentication never has to read the users table.
+ * A revocation rejects every token of the user issued up to that moment. Revocations are
+ * stored in the Redis sorted set {@code auth:revoked} (member = user id, score = epoch
+ * millis), loaded at startup and broadcast to every node over Redis pub/sub. Entries older
+ * than the token lifetime can no longer match a live token and are pruned.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserRevocationRegistry implements MessageListener {
+
+    private static final String CHANNEL = "ticket:auth:revoked";
+    private static final String REVOKED_KEY = "auth:revoked";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final JwtUtils jwtUtils;
+
+    /**
+     * Revocation time (epoch millis) by user id.
+     */
+    private final Map<Long, Long> revokedAt = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        try {
+            long cutoff = System.currentTimeMillis() - jwtUtils.getExpiration();
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, 0, cutoff);
+            Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                    .rangeWithScores(REVOKED_KEY, 0, -1);
+            if (entries != null) {
+                for (ZSetOperations.TypedTuple<String> entry : entries) {
+                    if (entry.getValue() != null && entry.getScore() != null) {
+                        revokedAt.merge(Long.parseLong(entry.getValue()), entry.getScore().longValue(), Math::max);
+                    }
+                }
+            }
+            log.info("Loaded {} token revocations", revokedAt.size());
+        } catch (Exception e) {
+            log.warn("Could not load token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reject every token issued to the user so far, on every node.
+     */
+    public void revoke(Long userId) {
+        long now = System.currentTimeMillis();
+        revokedAt.merge(userId, now, Math::max);
+        redisTemplate.opsForZSet().add(REVOKED_KEY, userId.toString(), now);
+        redisTemplate.convertAndSend(CHANNEL, userId + ":" + now);
+        log.info("Revoked tokens of user {}", userId);
+    }
+
+    /**
+     * Whether a token issued to the user at {@code issuedAtMillis} has been revoked since.
+     */
+    public boolean isRevoked(Long userId, long issuedAtMillis) {
+        Long revoked = revokedAt.get(userId);
+        if (revoked == null) {
+            return false;
+        }
+        // iat has second precision: a token issued in the same second as the revocation is rejected
+        return issuedAtMillis <= revoked;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            int separator = body.indexOf(':');
+            revokedAt.merge(Long.parseLong(body.substring(0, separator)),
+                    Long.parseLong(body.substring(separator + 1)), Math::max);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed revocation message: {}", body);
+        }
+    }
+}
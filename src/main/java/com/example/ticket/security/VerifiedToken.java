@@ -0,0 +1,27 @@
+package com.example.ticket.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * The claims of a token whose signature and expiry have been checked, read once.
+ *
+ * @param user the principal, or null for tokens issued without a user id
+ */
+public record VerifiedToken(AuthenticatedUser user, boolean enabled, long issuedAtMillis, long expiresAtMillis) {
+
+    public static VerifiedToken from(Claims claims) {
+        Number userId = claims.get(JwtUtils.USER_ID_CLAIM, Number.class);
+        AuthenticatedUser user = userId != null
+                ? new AuthenticatedUser(userId.longValue(), claims.getSubject(),
+                        claims.get(JwtUtils.ROLE_CLAIM, String.class))
+                : null;
+        return new VerifiedToken(user,
+                !Boolean.FALSE.equals(claims.get(JwtUtils.ENABLED_CLAIM, Boolean.class)),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.ticket.service;
+
+import java.time.Duration;
+
+/**
+ * A waiting-room admission taken by an order request, kept so it can be handed back if the
+ * order is not placed.
+ *
+ * @param token     the queue token
+ * @param owner     the admitted key's value ({@code eventId:email})
+ * @param remaining how long the admission had left when it was taken
+ */
+public record Admission(String token, String owner, Duration remaining) {
+}
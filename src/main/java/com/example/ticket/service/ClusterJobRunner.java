@@ -0,0 +1,184 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.JobLockConfig;
+import com.example.ticket.domain.repository.JobFenceRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs {@code @Scheduled} jobs once per cluster.
+ * Each job has a Redis lease ({@code job:lock:{name}}) held by one node and renewed on every
+ * run; a node that gets the lease also gets a fencing token from {@code job:fence:{name}}.
+ * Jobs that write to MySQL call {@link #fence} in their transaction so a node that lost its
+ * lease mid-run (GC pause, network split) cannot write over the new leader.
+ * <p>
+ * Metrics per job: {@code scheduled.job.duration} (timer, by outcome) and
+ * {@code scheduled.job.lag} (seconds since the job last succeeded on any node).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClusterJobRunner {
+
+    private static final String LOCK_KEY_PREFIX = "job:lock:";
+    private static final String FENCE_KEY_PREFIX = "job:fence:";
+    private static final String LAST_RUN_KEY_PREFIX = "job:last:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisScript<Long> acquireJobLockScript;
+    private final RedisScript<Long> releaseJobLockScript;
+    private final JobFenceRepository jobFenceRepository;
+    private final JobLockConfig jobLockConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final String ownerId = ManagementFactory.getRuntimeMXBean().getName() + "-"
+            + UUID.randomUUID().toString().substring(0, 8);
+
+    /**
+     * Leases this node holds, by job name (value as stored in Redis).
+     */
+    private final Map<String, String> heldLeases = new ConcurrentHashMap<>();
+
+    /**
+     * Last successful run per job (epoch millis), cluster-wide as far as this node knows.
+     */
+    private final Map<String, AtomicLong> lastRuns = new ConcurrentHashMap<>();
+
+    /**
+     * Run the job if this node holds (or can take) its lease.
+     *
+     * @param interval how often the job is scheduled; the lease lasts a few intervals
+     * @return true if the job ran here
+     */
+    public boolean run(String jobName, Duration interval, Consumer<JobLease> job) {
+        AtomicLong lastRun = lastRun(jobName);
+
+        JobLease lease;
+        if (jobLockConfig.isClusterLock()) {
+            lease = tryAcquire(jobName, interval.multipliedBy(jobLockConfig.getLeaseIntervals()));
+            if (lease == null) {
+                refreshLastRun(jobName, lastRun);
+                return false;
+            }
+        } else {
+            lease = new JobLease(jobName, 0);
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            job.accept(lease);
+            outcome = "success";
+        } catch (Exception e) {
+            log.error("Scheduled job {} failed", jobName, e);
+            return true;
+        } finally {
+            sample.stop(meterRegistry.timer("scheduled.job.duration", "job", jobName, "outcome", outcome));
+        }
+
+        long now = System.currentTimeMillis();
+        lastRun.set(now);
+        if (jobLockConfig.isClusterLock()) {
+            try {
+                redisTemplate.opsForValue().set(LAST_RUN_KEY_PREFIX + jobName, Long.toString(now));
+            } catch (Exception e) {
+                log.debug("Could not record last run of job {}: {}", jobName, e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reject the write if the lease has since moved to another node.
+     * Must be called inside the transaction doing the job's writes: the fence row stays
+     * locked until it commits, so the old and new leader cannot interleave.
+     *
+     * @throws RuntimeException if a newer lease holder has already written
+     */
+    public void fence(JobLease lease) {
+        if (!jobLockConfig.isClusterLock()) {
+            return;
+        }
+        jobFenceRepository.createIfMissing(lease.jobName());
+        if (jobFenceRepository.advance(lease.jobName(), lease.token()) == 0) {
+            throw new RuntimeException("Lease " + lease.token() + " for job " + lease.jobName()
+                    + " has been superseded");
+        }
+    }
+
+    @PreDestroy
+    public void releaseAll() {
+        // Hand leadership over right away instead of after the lease runs out
+        heldLeases.forEach((jobName, value) -> {
+            try {
+                redisTemplate.execute(releaseJobLockScript, List.of(LOCK_KEY_PREFIX + jobName), value);
+            } catch (Exception e) {
+                log.warn("Could not release lease for job {}: {}", jobName, e.getMessage());
+            }
+        });
+        heldLeases.clear();
+    }
+
+    private JobLease tryAcquire(String jobName, Duration leaseTime) {
+        Long token;
+        try {
+            token = redisTemplate.execute(acquireJobLockScript,
+                    List.of(LOCK_KEY_PREFIX + jobName, FENCE_KEY_PREFIX + jobName),
+                    ownerId, Long.toString(leaseTime.toMillis()));
+        } catch (Exception e) {
+            // Without Redis no node can prove it is the leader: skip this run
+            log.warn("Could not acquire lease for job {}: {}", jobName, e.getMessage());
+            return null;
+        }
+
+        if (token == null || token < 0) {
+            if (heldLeases.remove(jobName) != null) {
+                log.info("Lost lease for job {}", jobName);
+            }
+            return null;
+        }
+        if (heldLeases.put(jobName, ownerId + "|" + token) == null) {
+            log.info("Acquired lease for job {} (token {})", jobName, token);
+        }
+        return new JobLease(jobName, token);
+    }
+
+    private void refreshLastRun(String jobName, AtomicLong lastRun) {
+        try {
+            String value = redisTemplate.opsForValue().get(LAST_RUN_KEY_PREFIX + jobName);
+            if (value != null) {
+                lastRun.set(Long.parseLong(value));
+            }
+        } catch (Exception e) {
+            log.debug("Could not read last run of job {}: {}", jobName, e.getMessage());
+        }
+    }
+
+    private AtomicLong lastRun(String jobName) {
+        return lastRuns.computeIfAbsent(jobName, name -> {
+            AtomicLong lastRun = new AtomicLong(System.currentTimeMillis());
+            Gauge.builder("scheduled.job.lag", lastRun, value -> (System.currentTimeMillis() - value.get()) / 1000.0)
+                    .tag("job", name)
+                    .baseUnit("seconds")
+                    .description("Time since the job last succeeded on any node")
+                    .register(meterRegistry);
+            return lastRun;
+        });
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.EventCacheConfig;
+import com.example.ticket.domain.enums.EventStatus;
+import com.example.ticket.domain.model.EventSnapshot;
+import com.example.ticket.domain.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Two-level cache of event metadata: a bounded in-process cache on every node in front of
+ * a shared Redis copy, in front of MySQL. Changes evict both levels and are broadcast over
+ * Redis pub/sub so every node drops its local copy. Every eviction also bumps a generation
+ * counter in Redis, and a loader only writes its row to Redis if no eviction happened since
+ * it started, so a slow load cannot put back a row that was just changed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventCache implements MessageListener {
+
+    private static final String CHANNEL = "ticket:cache:event";
+    private static final String KEY_PREFIX = "cache:event:";
+    private static final String IDS_KEY = "cache:event:ids";
+    private static final String GENERATION_KEY_PREFIX = "cache:event:gen:";
+    private static final String EVICT_ALL_GENERATION_KEY = "cache:event:gen";
+    private static final String EVICT_ALL = "*";
+    private static final String UPCOMING = "upcoming";
+
+    private final EventRepository eventRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final EventCacheConfig eventCacheConfig;
+    private final MeterRegistry meterRegistry;
+    private final RedisScript<Long> shareEventScript;
+
+    private Cache<Long, EventSnapshot> events;
+    private Cache<String, List<EventSnapshot>> listings;
+    private Counter redisHits;
+    private Counter redisMisses;
+
+    /**
+     * Bumped on every local eviction, so derived views (e.g. the materialized listing)
+     * can tell they are stale with a single read.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Notified with the evicted event ID, or null when everything was evicted.
+     */
+    private final List<Consumer<Long>> evictionListeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    public void init() {
+        events = Caffeine.newBuilder()
+                .maximumSize(eventCacheConfig.getMaximumSize())
+                .expireAfterWrite(eventCacheConfig.getLocalTtl())
+                .recordStats()
+                .build();
+        listings = Caffeine.newBuilder()
+                .maximumSize(16)
+                .expireAfterWrite(eventCacheConfig.getLocalTtl())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, events, "events.local");
+        CaffeineCacheMetrics.monitor(meterRegistry, listings, "events.listings");
+        redisHits = Counter.builder("events.redis.requests").tag("result", "hit").register(meterRegistry);
+        redisMisses = Counter.builder("events.redis.requests").tag("result", "miss").register(meterRegistry);
+
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Get an event from memory, Redis or MySQL, in that order.
+     */
+    public Optional<EventSnapshot> get(Long eventId) {
+        if (!eventCacheConfig.isEnabled()) {
+            return eventRepository.findById(eventId).map(EventSnapshot::of);
+        }
+        // A null from the loader is not cached, so unknown IDs always reach the database
+        return Optional.ofNullable(events.get(eventId, this::load));
+    }
+
+    /**
+     * Events on sale that have not happened yet, soonest first.
+     */
+    public List<EventSnapshot> getUpcoming() {
+        List<EventSnapshot> upcoming = eventCacheConfig.isEnabled()
+                ? listings.get(UPCOMING, key -> loadUpcoming())
+                : loadUpcoming();
+
+        // The cached list can outlive an event's start time
+        LocalDateTime now = LocalDateTime.now();
+        return upcoming.stream().filter(event -> event.eventDate().isAfter(now)).toList();
+    }
+
+    /**
+     * Drop an event on every node, once the current transaction (if any) has committed
+     * so no node can reload the old row.
+     */
+    public void evict(Long eventId) {
+        afterCommit(() -> {
+            // Bumped before the delete so a load that read the old row cannot write it back
+            redisTemplate.opsForValue().increment(GENERATION_KEY_PREFIX + eventId);
+            redisTemplate.delete(KEY_PREFIX + eventId);
+            redisTemplate.opsForSet().remove(IDS_KEY, String.valueOf(eventId));
+            broadcast(String.valueOf(eventId));
+        });
+    }
+
+    /**
+     * Drop every cached event on every node (bulk deletes and reseeding).
+     */
+    public void evictAll() {
+        afterCommit(() -> {
+            redisTemplate.opsForValue().increment(EVICT_ALL_GENERATION_KEY);
+            Set<String> ids = redisTemplate.opsForSet().members(IDS_KEY);
+            if (ids != null && !ids.isEmpty()) {
+                redisTemplate.delete(ids.stream().map(id -> KEY_PREFIX + id).toList());
+            }
+            redisTemplate.delete(IDS_KEY);
+            broadcast(EVICT_ALL);
+        });
+    }
+
+    /**
+     * Get told about every eviction on this node, whichever node caused it.
+     */
+    public void addEvictionListener(Consumer<Long> listener) {
+        evictionListeners.add(listener);
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evictLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void evictLocal(String body) {
+        Long eventId = null;
+        if (EVICT_ALL.equals(body)) {
+            events.invalidateAll();
+        } else {
+            try {
+                eventId = Long.parseLong(body);
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed event cache message: {}", body);
+                return;
+            }
+            events.invalidate(eventId);
+        }
+        listings.invalidateAll();
+        generation.incrementAndGet();
+        for (Consumer<Long> listener : evictionListeners) {
+            try {
+                listener.accept(eventId);
+            } catch (RuntimeException e) {
+                log.error("Event eviction listener failed for {}", body, e);
+            }
+        }
+        log.debug("Evicted event {} from local cache", body);
+    }
+
+    private EventSnapshot load(Long eventId) {
+        String key = KEY_PREFIX + eventId;
+        // The eviction generations are read with the value, before MySQL, in the same round trip
+        List<String> values = redisTemplate.opsForValue().multiGet(
+                List.of(key, GENERATION_KEY_PREFIX + eventId, EVICT_ALL_GENERATION_KEY));
+        String cached = values != null ? values.get(0) : null;
+        if (cached != null) {
+            try {
+                EventSnapshot snapshot = objectMapper.readValue(cached, EventSnapshot.class);
+                redisHits.increment();
+                return snapshot;
+            } catch (JsonProcessingException e) {
+                log.warn("Discarding unreadable cached event {}", eventId, e);
+            }
+        }
+        redisMisses.increment();
+
+        EventSnapshot snapshot = eventRepository.findById(eventId).map(EventSnapshot::of).orElse(null);
+        if (snapshot != null && values != null) {
+            share(snapshot, generationOf(values.get(1)), generationOf(values.get(2)));
+        }
+        return snapshot;
+    }
+
+    private List<EventSnapshot> loadUpcoming() {
+        List<EventSnapshot> upcoming = eventRepository
+                .findUpcomingEventsByStatus(EventStatus.ON_SALE, LocalDateTime.now())
+                .stream()
+                .map(EventSnapshot::of)
+                .toList();
+        if (eventCacheConfig.isEnabled()) {
+            upcoming.forEach(event -> events.put(event.id(), event));
+        }
+        return upcoming;
+    }
+
+    /**
+     * Put a loaded event in Redis unless it was evicted after the generations were read:
+     * the row may have been read before the change committed, and writing it back would
+     * serve it on every node until the Redis TTL.
+     */
+    private void share(EventSnapshot snapshot, String generation, String evictAllGeneration) {
+        try {
+            Long written = redisTemplate.execute(shareEventScript,
+                    List.of(KEY_PREFIX + snapshot.id(), GENERATION_KEY_PREFIX + snapshot.id(),
+                            EVICT_ALL_GENERATION_KEY, IDS_KEY),
+                    objectMapper.writeValueAsString(snapshot),
+                    String.valueOf(eventCacheConfig.getRedisTtl().toMillis()),
+                    generation, evictAllGeneration, String.valueOf(snapshot.id()));
+            if (written == null || written == 0) {
+                log.debug("Event {} was evicted while loading, not caching it in Redis", snapshot.id());
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Could not cache event {} in Redis", snapshot.id(), e);
+        }
+    }
+
+    private static String generationOf(String value) {
+        return value != null ? value : "0";
+    }
+
+    private void broadcast(String body) {
+        // Our own listener receives it too, but drop locally right away for read-your-writes
+        evictLocal(body);
+        redisTemplate.convertAndSend(CHANNEL, body);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.EventCacheConfig;
+import com.example.ticket.domain.model.EventSnapshot;
+import com.example.ticket.dto.response.ApiResponse;
+import com.example.ticket.dto.response.EventResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Materialized upcoming-events response: the full JSON body, pre-encoded (and gzipped)
+ * once per change, with an ETag. Requests just hand out the current bytes.
+ * <p>
+ * The listing is rebuilt lazily when the event cache reports a change, when an event's
+ * start or sale window boundary passes (which changes the list or its onSale flags), or
+ * once it is older than the local event cache TTL (so its stock figures stay recent).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventListingCache {
+
+    private final EventCache eventCache;
+    private final EventService eventService;
+    private final EventCacheConfig eventCacheConfig;
+    private final ObjectMapper objectMapper;
+
+    private volatile Listing current;
+
+    /**
+     * Pre-encoded response body.
+     *
+     * @param json       identity-encoded JSON
+     * @param gzip       gzip-encoded JSON
+     * @param etag       quoted strong ETag of the JSON
+     * @param gzipEtag   quoted strong ETag of the gzip representation
+     * @param generation event cache generation it was built from
+     * @param expiresAt  epoch millis after which it must be rebuilt
+     */
+    public record Listing(byte[] json, byte[] gzip, String etag, String gzipEtag, long generation, long expiresAt) {
+    }
+
+    /**
+     * The current listing, rebuilding it first if it is stale.
+     */
+    public Listing getUpcoming() {
+        Listing listing = current;
+        if (listing != null && listing.generation() == eventCache.getGeneration()
+                && System.currentTimeMillis() < listing.expiresAt()) {
+            return listing;
+        }
+        return rebuild();
+    }
+
+    private synchronized Listing rebuild() {
+        long generation = eventCache.getGeneration();
+        Listing listing = current;
+        if (listing != null && listing.generation() == generation && System.currentTimeMillis() < listing.expiresAt()) {
+            return listing;
+        }
+
+        List<EventSnapshot> events = eventCache.getUpcoming();
+        List<EventResponse> responses = eventService.getUpcomingEvents();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(ApiResponse.success(responses));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode event listing", e);
+        }
+
+        String hash = DigestUtils.md5DigestAsHex(json);
+        listing = new Listing(json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"", generation,
+                expiresAt(events));
+        current = listing;
+        log.debug("Rebuilt event listing: {} events, {} bytes ({} gzipped)",
+                responses.size(), json.length, listing.gzip().length);
+        return listing;
+    }
+
+    /**
+     * Earliest of the cache TTL and the next time boundary that changes the listing.
+     */
+    private long expiresAt(List<EventSnapshot> events) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiry = now.plus(eventCacheConfig.getLocalTtl());
+        for (EventSnapshot event : events) {
+            expiry = earliestAfter(now, expiry, event.eventDate());
+            expiry = earliestAfter(now, expiry, event.saleStartTime());
+            expiry = earliestAfter(now, expiry, event.saleEndTime());
+        }
+        return expiry.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime earliestAfter(LocalDateTime now, LocalDateTime current, LocalDateTime candidate) {
+        return candidate != null && candidate.isAfter(now) && candidate.isBefore(current) ? candidate : current;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.ticket.service;
+
+import com.example.ticket.domain.enums.EventStatus;
+import com.example.ticket.domain.model.EventSnapshot;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over event names and venues.
+ * Text is folded to lower-case ASCII (Vietnamese diacritics and đ removed) and split into
+ * tokens. Every query token must match a token of the event, either exactly or as a
+ * prefix, so partial words work for typeahead. Results are ranked by score (name matches
+ * outweigh venue matches, exact matches outweigh prefix matches), then by event date.
+ * <p>
+ * Thread-safe: updates take a write lock, searches a read lock.
+ */
+public class EventSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int VENUE_WEIGHT = 1;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Term -> (event ID -> weight). Sorted so prefix queries are a range scan.
+     */
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private record Document(EventSnapshot event, Map<String, Integer> terms) {
+    }
+
+    /**
+     * Add or replace an event.
+     */
+    public void index(EventSnapshot event) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, event.name(), NAME_WEIGHT);
+        addTerms(terms, event.venue(), VENUE_WEIGHT);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(event.id());
+            documents.put(event.id(), new Document(event, terms));
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>())
+                    .put(event.id(), weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index.
+     */
+    public void rebuild(List<EventSnapshot> events) {
+        EventSearchIndex fresh = new EventSearchIndex();
+        events.forEach(fresh::index);
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(fresh.postings);
+            documents.clear();
+            documents.putAll(fresh.documents);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Upcoming on-sale events matching every token of the query, best match first.
+     */
+    public List<EventSnapshot> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<EventSnapshot, Double>> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = match(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, score) -> score + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                EventSnapshot event = documents.get(entry.getKey()).event();
+                if (event.status() == EventStatus.ON_SALE && event.eventDate().isAfter(now)) {
+                    hits.add(Map.entry(event, entry.getValue()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return hits.stream()
+                .sorted(Map.Entry.<EventSnapshot, Double>comparingByValue().reversed()
+                        .thenComparing(entry -> entry.getKey().eventDate()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Fold to lower-case ASCII and split on anything that is not a letter or digit.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Scores for one query token: full weight for exact term matches, half for prefix matches.
+     */
+    private Map<Long, Double> match(String token) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            double factor = entry.getKey().length() == token.length() ? 1.0 : 0.5;
+            entry.getValue().forEach((id, weight) -> scores.merge(id, weight * factor, Math::max));
+        }
+        return scores;
+    }
+
+    private void removeLocked(Long eventId) {
+        Document existing = documents.remove(eventId);
+        if (existing == null) {
+            return;
+        }
+        for (String term : existing.terms().keySet()) {
+            Map<Long, Integer> ids = postings.get(term);
+            if (ids != null) {
+                ids.remove(eventId);
+                if (ids.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+}
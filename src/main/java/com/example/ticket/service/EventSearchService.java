@@ -0,0 +1,84 @@
+package com.example.ticket.service;
+
+import com.example.ticket.domain.entity.Event;
+import com.example.ticket.domain.model.EventSnapshot;
+import com.example.ticket.domain.repository.EventRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps this node's {@link EventSearchIndex} in step with the events table.
+ * Built in full once the application is ready, then updated one event at a time from
+ * event cache evictions, which every node receives over pub/sub.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EventSearchService {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final EventRepository eventRepository;
+    private final EventCache eventCache;
+
+    private final EventSearchIndex index = new EventSearchIndex();
+    private volatile boolean ready;
+
+    @PostConstruct
+    public void listen() {
+        eventCache.addEvictionListener(eventId -> {
+            if (eventId == null) {
+                rebuild();
+            } else {
+                refresh(eventId);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<EventSnapshot> events = new ArrayList<>();
+        Page<Event> page;
+        int pageNumber = 0;
+        do {
+            page = eventRepository.findAll(PageRequest.of(pageNumber++, LOAD_PAGE_SIZE, Sort.by("id")));
+            page.forEach(event -> events.add(EventSnapshot.of(event)));
+        } while (page.hasNext());
+
+        index.rebuild(events);
+        ready = true;
+        log.info("Built event search index: {} events in {} ms", events.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Whether searches can be answered from the index yet.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Upcoming on-sale events matching the query, best match first.
+     */
+    public List<EventSnapshot> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    private void refresh(Long eventId) {
+        eventRepository.findById(eventId)
+                .map(EventSnapshot::of)
+                .ifPresentOrElse(index::index, () -> index.remove(eventId));
+    }
+}
@@ -2,12 +2,14 @@ package com.example.ticket.service;
 
 import com.example.ticket.domain.entity.Event;
 import com.example.ticket.domain.enums.EventStatus;
+import com.example.ticket.domain.model.EventSnapshot;
 import com.example.ticket.domain.repository.EventRepository;
 import com.example.ticket.dto.response.EventResponse;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for managing events.
@@ -26,51 +29,63 @@ public class EventService {
 
     private final EventRepository eventRepository;
     private final InventoryService inventoryService;
+    private final SoldOutRegistry soldOutRegistry;
+    private final EventCache eventCache;
+    private final EventSearchService eventSearchService;
 
     /**
-     * Get all upcoming events that are on sale.
+     * Get all upcoming events that are on sale (served from the event cache, with live stock).
      */
-    @Transactional(readOnly = true)
     public List<EventResponse> getUpcomingEvents() {
-        List<Event> events = eventRepository.findUpcomingEventsByStatus(
-                EventStatus.ON_SALE, LocalDateTime.now());
-        return events.stream().map(this::toResponse).toList();
+        return toResponses(eventCache.getUpcoming());
     }
 
     /**
      * Get events with pagination.
+     * The default date order is paged from the cached upcoming list; other sorts query MySQL.
      */
-    @Transactional(readOnly = true)
     public Page<EventResponse> getEvents(Pageable pageable) {
-        Page<Event> events = eventRepository.findByStatusAndEventDateAfterOrderByEventDateAsc(
-                EventStatus.ON_SALE, LocalDateTime.now(), pageable);
-        return events.map(this::toResponse);
+        if (pageable.getSort().isSorted()) {
+            Page<Event> events = eventRepository.findByStatusAndEventDateAfterOrderByEventDateAsc(
+                    EventStatus.ON_SALE, LocalDateTime.now(), pageable);
+            return toResponses(events.map(EventSnapshot::of));
+        }
+        return toResponses(page(eventCache.getUpcoming(), pageable));
     }
 
     /**
-     * Search events by keyword.
+     * Search events by keyword in name or venue, ranked by relevance.
+     * Served from the in-memory search index; explicit sorts (and searches before the
+     * index is built) query MySQL.
      */
-    @Transactional(readOnly = true)
     public Page<EventResponse> searchEvents(String keyword, Pageable pageable) {
-        Page<Event> events = eventRepository.searchEvents(
-                EventStatus.ON_SALE, LocalDateTime.now(), keyword, pageable);
-        return events.map(this::toResponse);
+        if (pageable.getSort().isSorted() || !eventSearchService.isReady()) {
+            Page<Event> events = eventRepository.searchEvents(
+                    EventStatus.ON_SALE, LocalDateTime.now(), keyword, pageable);
+            return toResponses(events.map(EventSnapshot::of));
+        }
+
+        List<EventSnapshot> matches = eventSearchService.search(keyword, Integer.MAX_VALUE);
+        return toResponses(page(matches, pageable));
+    }
+
+    /**
+     * Typeahead: best matching events for a partially typed query.
+     */
+    public List<EventResponse> suggestEvents(String prefix, int limit) {
+        return toResponses(eventSearchService.search(prefix, limit));
     }
 
     /**
      * Get event by ID.
      */
-    @Transactional(readOnly = true)
     public EventResponse getEventById(Long id) {
-        Event event = eventRepository.findById(id)
+        EventSnapshot event = eventCache.get(id)
                 .orElseThrow(() -> new RuntimeException("Event not found: " + id));
+        soldOutRegistry.registerSaleWindow(id, event.saleStartTime(), event.saleEndTime());
 
         // Get real-time inventory from Redis
-        int redisInventory = inventoryService.getAvailableInventory(id);
-        EventResponse response = toResponse(event);
-        response.setAvailableTickets(redisInventory > 0 ? redisInventory : event.getAvailableTickets());
-
-        return response;
+        return toResponses(List.of(event)).get(0);
     }
 
     /**
@@ -84,6 +99,7 @@ public class EventService {
 
         // Initialize Redis inventory
         inventoryService.initializeInventory(saved.getId(), saved.getTotalTickets());
+        eventCache.evict(saved.getId());
 
         log.info("Created event: {} with {} tickets", saved.getName(), saved.getTotalTickets());
         return toResponse(saved);
@@ -101,6 +117,7 @@ public class EventService {
 
         // Ensure Redis inventory is initialized
         inventoryService.initializeInventory(id, event.getAvailableTickets());
+        eventCache.evict(id);
 
         log.info("Published event: {}", saved.getName());
         return toResponse(saved);
@@ -162,11 +179,64 @@ public class EventService {
             // Initialize Redis inventory for each event
             eventRepository.findAll()
                     .forEach(event -> inventoryService.initializeInventory(event.getId(), event.getAvailableTickets()));
+            // Fresh IDs may match events cached in Redis by an earlier run
+            eventCache.evictAll();
 
             log.info("Sample events initialized successfully");
         }
     }
 
+    private static <T> Page<T> page(List<T> items, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(items, pageable, items.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return new PageImpl<>(items.subList(from, to), pageable, items.size());
+    }
+
+    /**
+     * Map a page of events, with live stock for all of them fetched in one Redis round trip.
+     */
+    private Page<EventResponse> toResponses(Page<EventSnapshot> events) {
+        return new PageImpl<>(toResponses(events.getContent()), events.getPageable(), events.getTotalElements());
+    }
+
+    /**
+     * Map events, with live stock for all of them fetched in one Redis round trip.
+     * Events without a Redis counter fall back to the database column.
+     */
+    private List<EventResponse> toResponses(List<EventSnapshot> events) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> live = inventoryService.getAvailableInventory(
+                events.stream().map(EventSnapshot::id).toList());
+        return events.stream()
+                .map(event -> toResponse(event, live.getOrDefault(event.id(), event.availableTickets())))
+                .toList();
+    }
+
+    private EventResponse toResponse(EventSnapshot event, int availableTickets) {
+        return EventResponse.builder()
+                .id(event.id())
+                .name(event.name())
+                .description(event.description())
+                .venue(event.venue())
+                .address(event.address())
+                .eventDate(event.eventDate())
+                .endDate(event.endDate())
+                .basePrice(event.basePrice())
+                .totalTickets(event.totalTickets())
+                .availableTickets(availableTickets)
+                .imageUrl(event.imageUrl())
+                .status(event.status())
+                .onSale(event.isSaleOpen() && availableTickets > 0)
+                .saleStartTime(event.saleStartTime())
+                .saleEndTime(event.saleEndTime())
+                .build();
+    }
+
     private EventResponse toResponse(Event event) {
         return EventResponse.builder()
                 .id(event.getId())
@@ -0,0 +1,106 @@
+package com.example.ticket.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel of string keys.
+ * Scheduling is thread-safe (new timers are queued and moved into their bucket on the next
+ * advance); {@link #advance} must only be called from one thread. Each advance only visits
+ * the buckets of the ticks that passed, so its cost does not grow with the number of timers.
+ * Deadlines are rounded up to a tick boundary: a timer never fires before its deadline,
+ * and at most one tick after it.
+ */
+class HashedTimingWheel {
+
+    private static final class Timer {
+        final String key;
+        long remainingRounds;
+
+        Timer(String key, long remainingRounds) {
+            this.key = key;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+
+    private record Pending(String key, long deadlineMillis) {
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final List<Timer>[] buckets;
+    private final int mask;
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Next tick to process.
+     */
+    private long tick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        int buckets = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = new List[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new ArrayList<>();
+        }
+        this.mask = buckets - 1;
+    }
+
+    void schedule(String key, long deadlineMillis) {
+        pending.add(new Pending(key, deadlineMillis));
+    }
+
+    /**
+     * Move the wheel up to {@code nowMillis}.
+     *
+     * @return keys whose deadline has passed, in deadline order per tick
+     */
+    List<String> advance(long nowMillis) {
+        long nowTick = (nowMillis - startMillis) / tickMillis;
+        transferPending();
+
+        List<String> expired = new ArrayList<>();
+        for (; tick <= nowTick; tick++) {
+            List<Timer> bucket = buckets[(int) (tick & mask)];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            bucket.removeIf(timer -> {
+                if (timer.remainingRounds <= 0) {
+                    expired.add(timer.key);
+                    return true;
+                }
+                timer.remainingRounds--;
+                return false;
+            });
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    /**
+     * Timers in the wheel (excluding ones scheduled since the last advance).
+     */
+    int size() {
+        return size;
+    }
+
+    private void transferPending() {
+        Pending next;
+        while ((next = pending.poll()) != null) {
+            long deadlineTick = Math.max(Math.ceilDiv(next.deadlineMillis() - startMillis, tickMillis), tick);
+            long rounds = (deadlineTick - tick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(new Timer(next.key(), rounds));
+            size++;
+        }
+    }
+}
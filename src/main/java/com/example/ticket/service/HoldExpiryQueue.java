@@ -0,0 +1,143 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.HoldExpiryConfig;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pending-order hold deadlines.
+ * Every deadline is stored in the Redis sorted set {@code expiry:holds} (member = order code,
+ * score = epoch millis) and timed locally by a hashed timing wheel. Whoever removes a member
+ * from the set owns its expiry, so any number of nodes can fire the same deadline safely.
+ * Paid and failed orders are removed from the set, which turns their timers into no-ops.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HoldExpiryQueue {
+
+    static final String EXPIRY_KEY = "expiry:holds";
+
+    private final StringRedisTemplate redisTemplate;
+    private final HoldExpiryConfig holdExpiryConfig;
+
+    private volatile HashedTimingWheel wheel;
+
+    /**
+     * Track the hold of a newly created order.
+     */
+    public void schedule(String orderCode, LocalDateTime expiredAt) {
+        long deadline = toEpochMillis(expiredAt);
+        redisTemplate.opsForZSet().add(EXPIRY_KEY, orderCode, deadline);
+        wheel().schedule(orderCode, deadline);
+    }
+
+    /**
+     * Stop tracking orders that were paid or failed.
+     */
+    public void cancel(Collection<String> orderCodes) {
+        if (!orderCodes.isEmpty()) {
+            redisTemplate.opsForZSet().remove(EXPIRY_KEY, orderCodes.toArray());
+        }
+    }
+
+    /**
+     * Advance the timing wheel.
+     *
+     * @return orders whose local timer fired (not yet claimed)
+     */
+    public List<String> advance(long nowMillis) {
+        return wheel().advance(nowMillis);
+    }
+
+    /**
+     * Claim orders for expiry: removes them from the sorted set in one pipeline and keeps
+     * only the ones this call actually removed.
+     */
+    public List<String> claim(List<String> orderCodes) {
+        if (orderCodes.isEmpty()) {
+            return List.of();
+        }
+        List<Object> removed = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String orderCode : orderCodes) {
+                stringConnection.zRem(EXPIRY_KEY, orderCode);
+            }
+            return null;
+        });
+
+        List<String> claimed = new ArrayList<>(orderCodes.size());
+        for (int i = 0; i < orderCodes.size(); i++) {
+            if (removed.get(i) instanceof Long count && count > 0) {
+                claimed.add(orderCodes.get(i));
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * Orders already past their deadline in the sorted set, oldest first.
+     */
+    public List<String> findDue(long nowMillis, int limit) {
+        Set<String> due = redisTemplate.opsForZSet().rangeByScore(EXPIRY_KEY, 0, nowMillis, 0, limit);
+        return due != null ? new ArrayList<>(due) : List.of();
+    }
+
+    /**
+     * Put claimed orders back (expiry failed); the next sweep retries them.
+     */
+    public void requeue(Collection<String> orderCodes, long nowMillis) {
+        for (String orderCode : orderCodes) {
+            redisTemplate.opsForZSet().add(EXPIRY_KEY, orderCode, nowMillis);
+        }
+    }
+
+    /**
+     * Start a fresh wheel holding every deadline currently in the sorted set.
+     */
+    public void rebuild(long nowMillis) {
+        HashedTimingWheel rebuilt = new HashedTimingWheel(holdExpiryConfig.getTick().toMillis(),
+                holdExpiryConfig.getWheelSize(), nowMillis);
+        Set<ZSetOperations.TypedTuple<String>> entries = redisTemplate.opsForZSet()
+                .rangeWithScores(EXPIRY_KEY, 0, -1);
+        if (entries != null) {
+            for (ZSetOperations.TypedTuple<String> entry : entries) {
+                if (entry.getValue() != null && entry.getScore() != null) {
+                    rebuilt.schedule(entry.getValue(), entry.getScore().longValue());
+                }
+            }
+        }
+        wheel = rebuilt;
+        log.info("Rebuilt hold expiry wheel with {} deadlines", entries != null ? entries.size() : 0);
+    }
+
+    private HashedTimingWheel wheel() {
+        HashedTimingWheel current = wheel;
+        if (current == null) {
+            synchronized (this) {
+                if (wheel == null) {
+                    wheel = new HashedTimingWheel(holdExpiryConfig.getTick().toMillis(),
+                            holdExpiryConfig.getWheelSize(), System.currentTimeMillis());
+                }
+                current = wheel;
+            }
+        }
+        return current;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
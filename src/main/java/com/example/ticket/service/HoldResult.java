@@ -0,0 +1,24 @@
+package com.example.ticket.service;
+
+/**
+ * Outcome of an inventory hold.
+ */
+public enum HoldResult {
+
+    HELD,
+
+    /**
+     * Not enough stock left for the requested quantity.
+     */
+    INSUFFICIENT_STOCK,
+
+    /**
+     * The user would go over the event's per-user limit.
+     */
+    LIMIT_EXCEEDED,
+
+    /**
+     * The user's purchase counter is not in Redis yet; load it and retry.
+     */
+    LIMIT_NOT_LOADED
+}
@@ -0,0 +1,79 @@
+package com.example.ticket.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Block of tickets leased from the Redis counter to this node.
+ * Holds are handed out with a CAS on a local counter, no network hop.
+ * A block belongs to one inventory generation; once the counter is reset the block is
+ * retired and stays empty.
+ */
+class InventoryLease {
+
+    private final AtomicInteger remaining = new AtomicInteger();
+    private volatile long lastUsedNanos = System.nanoTime();
+    private volatile long generation = -1;
+    private boolean retired;
+
+    /**
+     * Take tickets from the local block.
+     *
+     * @return true if the block had enough tickets
+     */
+    boolean tryTake(int quantity) {
+        int current;
+        do {
+            current = remaining.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!remaining.compareAndSet(current, current - quantity));
+        lastUsedNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Add freshly leased tickets.
+     *
+     * @return false (nothing added) if the block is retired or belongs to another generation
+     */
+    synchronized boolean add(int quantity, long generation) {
+        if (retired || (this.generation != -1 && this.generation != generation)) {
+            return false;
+        }
+        this.generation = generation;
+        remaining.addAndGet(quantity);
+        lastUsedNanos = System.nanoTime();
+        return true;
+    }
+
+    /**
+     * Empty the block for good, returning how many tickets it still had.
+     */
+    synchronized int retire() {
+        retired = true;
+        return remaining.getAndSet(0);
+    }
+
+    /**
+     * Generation the block was leased under, -1 before its first lease.
+     */
+    long generation() {
+        return generation;
+    }
+
+    /**
+     * Empty the block, returning how many tickets it still had.
+     */
+    int drain() {
+        return remaining.getAndSet(0);
+    }
+
+    int remaining() {
+        return remaining.get();
+    }
+
+    long idleNanos() {
+        return System.nanoTime() - lastUsedNanos;
+    }
+}
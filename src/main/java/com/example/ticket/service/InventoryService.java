@@ -1,42 +1,183 @@
 package com.example.ticket.service;
 
+import com.example.ticket.config.InventoryConfig;
+import com.example.ticket.config.LatencyInjectionConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service for managing ticket inventory using Redis.
  * Uses atomic operations to prevent overselling under high traffic.
+ * <p>
+ * Every reset of an event's counter starts a new lease generation. The reset is broadcast
+ * so each node retires the blocks it leased from the old counter, and blocks leased under
+ * an old generation are neither refilled nor returned, even by a node that missed the message.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class InventoryService {
+public class InventoryService implements MessageListener {
 
     private final StringRedisTemplate redisTemplate;
+    private final InventoryConfig inventoryConfig;
+    private final SoldOutRegistry soldOutRegistry;
+    private final LatencyInjector latencyInjector;
+    private final PurchaseLimitService purchaseLimitService;
+    private final RedisMessageListenerContainer listenerContainer;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> holdTicketsScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> takeFromStripeScript;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> leaseTicketsScript;
+    private final RedisScript<Long> initInventoryScript;
+    private final RedisScript<Long> returnLeaseScript;
+
+    /**
+     * Ticket blocks leased from Redis by this node (LEASE mode only).
+     */
+    private final Map<Long, InventoryLease> leases = new ConcurrentHashMap<>();
+
+    /**
+     * Events whose stock this node changed since the last change broadcast.
+     */
+    private final Set<Long> changedEvents = ConcurrentHashMap.newKeySet();
 
     private static final String INVENTORY_KEY_PREFIX = "inventory:event:";
     private static final String HOLD_KEY_PREFIX = "hold:order:";
+    private static final String GENERATION_KEY_SUFFIX = ":gen";
+    private static final int MAX_SPILL_ATTEMPTS = 3;
+    public static final String CHANGED_CHANNEL = "ticket:inventory:changed";
+    private static final String RESET_CHANNEL = "ticket:inventory:reset";
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(RESET_CHANNEL));
+    }
 
     /**
      * Initialize inventory for an event in Redis.
      */
     public void initializeInventory(Long eventId, int quantity) {
-        String key = getInventoryKey(eventId);
-        redisTemplate.opsForValue().set(key, String.valueOf(quantity));
-        log.info("Initialized inventory for event {}: {} tickets", eventId, quantity);
+        if (isSharded()) {
+            int stripes = inventoryConfig.getStripes();
+            Map<String, String> values = new HashMap<>();
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                int share = quantity / stripes + (stripe < quantity % stripes ? 1 : 0);
+                values.put(getStripeKey(eventId, stripe), String.valueOf(share));
+            }
+            redisTemplate.opsForValue().multiSet(values);
+            log.info("Initialized inventory for event {}: {} tickets across {} stripes", eventId, quantity, stripes);
+            markInitialized(eventId, quantity);
+            return;
+        }
+
+        Long generation = redisTemplate.execute(initInventoryScript,
+                List.of(getInventoryKey(eventId), getGenerationKey(eventId)), String.valueOf(quantity));
+        if (generation != null) {
+            // Blocks leased from the old counter no longer belong to it: drop them on every node
+            retireLease(eventId, generation);
+            redisTemplate.convertAndSend(RESET_CHANNEL, eventId + ":" + generation);
+        }
+        log.info("Initialized inventory for event {}: {} tickets (generation {})", eventId, quantity, generation);
+        markInitialized(eventId, quantity);
+    }
+
+    private void markInitialized(Long eventId, int quantity) {
+        changedEvents.add(eventId);
+        if (quantity > 0) {
+            soldOutRegistry.markAvailable(eventId);
+        } else {
+            soldOutRegistry.markSoldOut(eventId);
+        }
     }
 
     /**
      * Get current available inventory for an event.
      */
     public int getAvailableInventory(Long eventId) {
+        if (isSharded()) {
+            List<String> values = redisTemplate.opsForValue().multiGet(getStripeKeys(eventId));
+            int total = 0;
+            if (values != null) {
+                for (String value : values) {
+                    total += value != null ? Integer.parseInt(value) : 0;
+                }
+            }
+            return total;
+        }
+
         String key = getInventoryKey(eventId);
         String value = redisTemplate.opsForValue().get(key);
-        return value != null ? Integer.parseInt(value) : 0;
+        int available = value != null ? Integer.parseInt(value) : 0;
+
+        // Tickets leased to this node are still unsold (other nodes' leases are not visible here)
+        InventoryLease lease = leases.get(eventId);
+        return lease != null ? available + lease.remaining() : available;
+    }
+
+    /**
+     * Get current available inventory for many events in one Redis round trip (a single MGET,
+     * covering every stripe in SHARDED mode).
+     *
+     * @return available tickets by event ID; events without a Redis counter are left out
+     */
+    public Map<Long, Integer> getAvailableInventory(Collection<Long> eventIds) {
+        List<Long> ids = List.copyOf(eventIds);
+        int keysPerEvent = isSharded() ? inventoryConfig.getStripes() : 1;
+        List<String> keys = new ArrayList<>(ids.size() * keysPerEvent);
+        for (Long eventId : ids) {
+            if (isSharded()) {
+                keys.addAll(getStripeKeys(eventId));
+            } else {
+                keys.add(getInventoryKey(eventId));
+            }
+        }
+
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        Map<Long, Integer> available = new HashMap<>(ids.size() * 2);
+        if (values == null) {
+            return available;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            Long eventId = ids.get(i);
+            boolean found = false;
+            int total = 0;
+            for (int k = i * keysPerEvent; k < (i + 1) * keysPerEvent; k++) {
+                String value = values.get(k);
+                if (value != null) {
+                    found = true;
+                    total += Integer.parseInt(value);
+                }
+            }
+            if (found) {
+                // Tickets leased to this node are still unsold
+                InventoryLease lease = leases.get(eventId);
+                available.put(eventId, lease != null ? total + lease.remaining() : total);
+            }
+        }
+        return available;
     }
 
     /**
@@ -48,8 +189,8 @@ public class InventoryService {
      * @return true if tickets were successfully held, false if not enough inventory
      */
     public boolean holdTickets(Long eventId, int quantity) {
-        // Artificial delay for stress testing (Mock Payment Gateway latency)
-        simulateDelay();
+        // Artificial delay for stress testing (off unless a latency profile enables it)
+        latencyInjector.inject(LatencyInjectionConfig.Point.INVENTORY);
 
         String key = getInventoryKey(eventId);
 
@@ -60,6 +201,7 @@ public class InventoryService {
             // Rollback - not enough inventory
             if (remaining != null) {
                 redisTemplate.opsForValue().increment(key, quantity);
+                markSoldOutIfEmpty(eventId, remaining + quantity);
             }
             log.warn("Failed to hold {} tickets for event {}: insufficient inventory", quantity, eventId);
             return false;
@@ -69,12 +211,117 @@ public class InventoryService {
         return true;
     }
 
+    /**
+     * Hold tickets and record the order hold with TTL, checking the per-user limit if given.
+     * In SCRIPTED mode this is a single Redis round trip: the script checks the user's
+     * counter and the stock, then decrements stock, writes the hold key and bumps the
+     * counter atomically, so both checks pass or fail together.
+     * Other modes reserve the user's allowance first and give it back if the hold fails.
+     *
+     * @param limit per-user limit, or null if the event has none
+     */
+    public HoldResult holdTicketsForOrder(String orderCode, Long eventId, int quantity, Duration ttl,
+            PurchaseLimit limit) {
+        HoldResult result = hold(orderCode, eventId, quantity, ttl, limit);
+        if (result == HoldResult.HELD) {
+            changedEvents.add(eventId);
+        }
+        return result;
+    }
+
+    private HoldResult hold(String orderCode, Long eventId, int quantity, Duration ttl, PurchaseLimit limit) {
+        if (inventoryConfig.getMode() == InventoryConfig.Mode.SCRIPTED) {
+            // Artificial delay for stress testing (off unless a latency profile enables it)
+            latencyInjector.inject(LatencyInjectionConfig.Point.INVENTORY);
+            return holdWithScript(orderCode, eventId, quantity, ttl, limit);
+        }
+
+        if (limit != null) {
+            HoldResult reserved = purchaseLimitService.reserve(limit, quantity);
+            if (reserved != HoldResult.HELD) {
+                return reserved;
+            }
+        }
+        if (holdWithoutLimit(orderCode, eventId, quantity, ttl)) {
+            return HoldResult.HELD;
+        }
+        if (limit != null) {
+            purchaseLimitService.release(limit.userId(), eventId, quantity);
+        }
+        return HoldResult.INSUFFICIENT_STOCK;
+    }
+
+    /**
+     * Hold tickets and record the order hold with TTL in the non-scripted modes.
+     * LEGACY mode falls back to {@link #holdTickets} followed by {@link #setOrderHold}.
+     *
+     * @return true if tickets were successfully held, false if not enough inventory
+     */
+    private boolean holdWithoutLimit(String orderCode, Long eventId, int quantity, Duration ttl) {
+        if (inventoryConfig.getMode() == InventoryConfig.Mode.LEGACY) {
+            if (!holdTickets(eventId, quantity)) {
+                return false;
+            }
+            setOrderHold(orderCode, eventId, quantity, ttl);
+            return true;
+        }
+
+        if (isSharded()) {
+            latencyInjector.inject(LatencyInjectionConfig.Point.INVENTORY);
+            return holdFromStripes(orderCode, eventId, quantity, ttl);
+        }
+
+        if (inventoryConfig.getMode() == InventoryConfig.Mode.LEASE && holdFromLease(eventId, quantity)) {
+            setOrderHold(orderCode, eventId, quantity, ttl);
+            log.debug("Held {} tickets for event {} (order {}) from local lease", quantity, eventId, orderCode);
+            return true;
+        }
+        // No lease available (event nearly sold out): sell straight from Redis
+
+        // Artificial delay for stress testing (off unless a latency profile enables it)
+        latencyInjector.inject(LatencyInjectionConfig.Point.INVENTORY);
+
+        return holdWithScript(orderCode, eventId, quantity, ttl, null) == HoldResult.HELD;
+    }
+
+    /**
+     * Single round trip hold: check, decrement and write the hold key in one script
+     * (plus the per-user counter check and increment when a limit applies).
+     */
+    private HoldResult holdWithScript(String orderCode, Long eventId, int quantity, Duration ttl,
+            PurchaseLimit limit) {
+        List<String> keys = limit == null
+                ? List.of(getInventoryKey(eventId), getHoldKey(orderCode))
+                : List.of(getInventoryKey(eventId), getHoldKey(orderCode), limit.counterKey());
+        List<?> result = redisTemplate.execute(holdTicketsScript, keys,
+                String.valueOf(quantity), eventId + ":" + quantity, String.valueOf(ttl.toMillis()),
+                String.valueOf(limit != null ? limit.maxTickets() : 0),
+                String.valueOf(PurchaseLimit.COUNTER_TTL.toMillis()));
+
+        HoldResult holdResult = PurchaseLimitService.toHoldResult(result);
+        if (holdResult == HoldResult.INSUFFICIENT_STOCK) {
+            if (result != null) {
+                markSoldOutIfEmpty(eventId, ((Number) result.get(1)).longValue());
+            }
+            log.warn("Failed to hold {} tickets for event {}: insufficient inventory", quantity, eventId);
+        } else if (holdResult == HoldResult.HELD) {
+            log.info("Held {} tickets for event {} (order {}). Remaining: {}",
+                    quantity, eventId, orderCode, result.get(1));
+        }
+        return holdResult;
+    }
+
     /**
      * Release held tickets back to inventory.
      */
     public void releaseTickets(Long eventId, int quantity) {
-        String key = getInventoryKey(eventId);
+        // In sharded mode any stripe can take the tickets back; the total stays exact
+        String key = isSharded()
+                ? getStripeKey(eventId, ThreadLocalRandom.current().nextInt(inventoryConfig.getStripes()))
+                : getInventoryKey(eventId);
         Long newValue = redisTemplate.opsForValue().increment(key, quantity);
+        soldOutRegistry.markAvailable(eventId);
+        changedEvents.add(eventId);
         log.info("Released {} tickets for event {}. New total: {}", quantity, eventId, newValue);
     }
 
@@ -112,6 +359,18 @@ public class InventoryService {
         log.info("Removed hold for order {}", orderCode);
     }
 
+    /**
+     * Remove the hold keys of many paid orders with a single DEL.
+     */
+    public void removeOrderHolds(Collection<String> orderCodes) {
+        if (orderCodes.isEmpty()) {
+            return;
+        }
+        List<String> keys = orderCodes.stream().map(this::getHoldKey).toList();
+        Long removed = redisTemplate.delete(keys);
+        log.info("Removed {} holds for {} orders", removed, orderCodes.size());
+    }
+
     /**
      * Check if hold exists for an order.
      */
@@ -124,19 +383,266 @@ public class InventoryService {
         return INVENTORY_KEY_PREFIX + eventId;
     }
 
+    /**
+     * In SHARDED mode the hold key carries its home stripe's slot tag, so the hold script
+     * can write it next to the stripe on Redis Cluster.
+     */
+    private String getGenerationKey(Long eventId) {
+        return INVENTORY_KEY_PREFIX + eventId + GENERATION_KEY_SUFFIX;
+    }
+
     private String getHoldKey(String orderCode) {
-        return HOLD_KEY_PREFIX + orderCode;
+        return isSharded()
+                ? HOLD_KEY_PREFIX + getStripeTag(getHomeStripe(orderCode)) + orderCode
+                : HOLD_KEY_PREFIX + orderCode;
+    }
+
+    /**
+     * Hold tickets from this node's leased block, refilling it from Redis when it runs dry.
+     *
+     * @return true if held locally, false if no lease could cover it and the hold must go
+     *         straight to Redis (the script there makes the exact sold-out decision)
+     */
+    private boolean holdFromLease(Long eventId, int quantity) {
+        InventoryLease lease = leases.computeIfAbsent(eventId, id -> new InventoryLease());
+        if (lease.tryTake(quantity)) {
+            return true;
+        }
+
+        // One refill at a time per event; other threads re-check the block once it lands
+        synchronized (lease) {
+            if (lease.tryTake(quantity)) {
+                return true;
+            }
+
+            InventoryConfig.Lease settings = inventoryConfig.getLease();
+            List<?> result = redisTemplate.execute(leaseTicketsScript,
+                    List.of(getInventoryKey(eventId), getGenerationKey(eventId)),
+                    String.valueOf(Math.max(settings.getBlockSize(), quantity)),
+                    String.valueOf(settings.getLowStockThreshold()));
+            int granted = result != null ? ((Number) result.get(0)).intValue() : 0;
+
+            if (granted == 0) {
+                // Nearly sold out: hand leftovers back so the last tickets are sold from Redis
+                returnLease(eventId, lease);
+                return false;
+            }
+
+            long generation = ((Number) result.get(2)).longValue();
+            if (!lease.add(granted, generation)) {
+                // The counter was reset while this block was in use: retire it, sell from Redis
+                returnLeased(eventId, granted, generation);
+                retireLease(eventId, generation);
+                return false;
+            }
+            log.debug("Leased {} tickets for event {}. Remaining in Redis: {}", granted, eventId, result.get(1));
+            return lease.tryTake(quantity);
+        }
+    }
+
+    /**
+     * Give a lease's unused tickets back to the Redis counter.
+     */
+    private void returnLease(Long eventId, InventoryLease lease) {
+        int leftover = lease.drain();
+        if (leftover > 0) {
+            returnLeased(eventId, leftover, lease.generation());
+        }
+    }
+
+    /**
+     * Add leased tickets back to the counter, unless it was reset since they were leased.
+     */
+    private void returnLeased(Long eventId, int tickets, long generation) {
+        Long counter = redisTemplate.execute(returnLeaseScript,
+                List.of(getInventoryKey(eventId), getGenerationKey(eventId)),
+                String.valueOf(tickets), String.valueOf(generation));
+        if (counter == null || counter < 0) {
+            log.info("Dropped {} tickets leased for event {} before its inventory was reset", tickets, eventId);
+            return;
+        }
+        // Other nodes may have flagged the event sold out while these tickets were leased
+        soldOutRegistry.markAvailable(eventId);
+        changedEvents.add(eventId);
+        log.info("Returned {} leased tickets for event {}", tickets, eventId);
+    }
+
+    /**
+     * Retire this node's block for an event if it was leased before the given generation.
+     * Threads still holding the block find it empty and go to Redis instead.
+     */
+    private void retireLease(Long eventId, long generation) {
+        InventoryLease lease = leases.get(eventId);
+        if (lease == null || lease.generation() >= generation) {
+            return;
+        }
+        leases.remove(eventId, lease);
+        int dropped = lease.retire();
+        if (dropped > 0) {
+            log.info("Dropped {} tickets leased for event {} before its inventory was reset", dropped, eventId);
+        }
     }
 
     /**
-     * Artificial delay to simulate processing/latency.
+     * Inventory reset on some node ({@code eventId:generation}).
      */
-    private void simulateDelay() {
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
         try {
-            // Delay 10-50ms
-            Thread.sleep(50);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+            int separator = body.indexOf(':');
+            retireLease(Long.parseLong(body.substring(0, separator)), Long.parseLong(body.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed inventory reset message: {}", body);
+        }
+    }
+
+    /**
+     * Return leases that have not been used within the idle timeout.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void returnIdleLeases() {
+        long timeoutNanos = inventoryConfig.getLease().getIdleTimeout().toNanos();
+        leases.forEach((eventId, lease) -> {
+            if (lease.remaining() > 0 && lease.idleNanos() > timeoutNanos) {
+                returnLease(eventId, lease);
+            }
+        });
+    }
+
+    /**
+     * Tell every node which events' stock changed here, at most once per debounce interval,
+     * so live inventory streams can push fresh counts without polling.
+     */
+    @Scheduled(fixedDelayString = "${ticket.inventory.stream.debounce:250ms}")
+    public void publishChanges() {
+        if (changedEvents.isEmpty()) {
+            return;
+        }
+        List<String> ids = new ArrayList<>();
+        for (Long eventId : changedEvents) {
+            changedEvents.remove(eventId);
+            ids.add(String.valueOf(eventId));
+        }
+        redisTemplate.convertAndSend(CHANGED_CHANNEL, String.join(",", ids));
+    }
+
+    /**
+     * Return all leased tickets on shutdown so Redis stays the source of truth.
+     */
+    @PreDestroy
+    public void returnAllLeases() {
+        leases.forEach(this::returnLease);
+    }
+
+    /**
+     * Flag an event sold out once a failed hold saw no stock left at all.
+     * In LEASE mode the Redis counter excludes tickets leased to other nodes, so the flag
+     * stays on this node (and only while it holds no leased tickets itself).
+     */
+    private void markSoldOutIfEmpty(Long eventId, long available) {
+        if (available > 0) {
+            return;
+        }
+        if (inventoryConfig.getMode() == InventoryConfig.Mode.LEASE) {
+            InventoryLease lease = leases.get(eventId);
+            if (lease == null || lease.remaining() == 0) {
+                soldOutRegistry.markSoldOutLocally(eventId);
+            }
+            return;
+        }
+        soldOutRegistry.markSoldOut(eventId);
+    }
+
+    private String getStripeKey(Long eventId, int stripe) {
+        return INVENTORY_KEY_PREFIX + eventId + ":" + getStripeTag(stripe);
+    }
+
+    /**
+     * Hash tag that gives every stripe its own cluster slot (shared with the hold keys homed there).
+     */
+    private String getStripeTag(int stripe) {
+        return "{stripe:" + stripe + "}";
+    }
+
+    /**
+     * The stripe an order holds from first. Order codes are unique, so holds spread evenly
+     * over the stripes, and the hold key can be found again from the code alone.
+     */
+    private int getHomeStripe(String orderCode) {
+        return Math.floorMod(orderCode.hashCode(), inventoryConfig.getStripes());
+    }
+
+    private List<String> getStripeKeys(Long eventId) {
+        List<String> keys = new ArrayList<>(inventoryConfig.getStripes());
+        for (int stripe = 0; stripe < inventoryConfig.getStripes(); stripe++) {
+            keys.add(getStripeKey(eventId, stripe));
+        }
+        return keys;
+    }
+
+    private boolean isSharded() {
+        return inventoryConfig.getMode() == InventoryConfig.Mode.SHARDED;
+    }
+
+    /**
+     * Hold tickets in SHARDED mode.
+     * The order's home stripe is tried first with the hold script: two keys in one slot, one
+     * round trip, hold key included. Only when that stripe is short are the stripes drained
+     * one single-key call at a time; a shortfall hands everything back, and only then is the
+     * exact total read to tell a sold-out event from stock that was fragmented or raced.
+     */
+    private boolean holdFromStripes(String orderCode, Long eventId, int quantity, Duration ttl) {
+        int home = getHomeStripe(orderCode);
+        List<?> result = redisTemplate.execute(holdTicketsScript,
+                List.of(getStripeKey(eventId, home), getHoldKey(orderCode)),
+                String.valueOf(quantity), eventId + ":" + quantity, String.valueOf(ttl.toMillis()), "0", "0");
+        if (result != null && ((Number) result.get(0)).intValue() == 1) {
+            log.info("Held {} tickets for event {} (order {}) from stripe {}. Remaining in stripe: {}",
+                    quantity, eventId, orderCode, home, result.get(1));
+            return true;
+        }
+
+        for (int attempt = 0; attempt < MAX_SPILL_ATTEMPTS; attempt++) {
+            if (spill(eventId, home, quantity)) {
+                setOrderHold(orderCode, eventId, quantity, ttl);
+                log.info("Held {} tickets for event {} (order {}) across stripes", quantity, eventId, orderCode);
+                return true;
+            }
+            int total = getAvailableInventory(eventId);
+            if (total < quantity) {
+                markSoldOutIfEmpty(eventId, total);
+                log.warn("Failed to hold {} tickets for event {}: insufficient inventory", quantity, eventId);
+                return false;
+            }
+        }
+        log.warn("Failed to hold {} tickets for event {}: stripes kept racing", quantity, eventId);
+        return false;
+    }
+
+    /**
+     * Take the quantity from the stripes after the home stripe (the home stripe last), or
+     * nothing: a shortfall gives every taken ticket back.
+     */
+    private boolean spill(Long eventId, int home, int quantity) {
+        int stripes = inventoryConfig.getStripes();
+        int[] taken = new int[stripes];
+        int needed = quantity;
+        for (int i = 1; i <= stripes && needed > 0; i++) {
+            int stripe = (home + i) % stripes;
+            List<?> result = redisTemplate.execute(takeFromStripeScript,
+                    List.of(getStripeKey(eventId, stripe)), String.valueOf(needed));
+            taken[stripe] = result != null ? ((Number) result.get(0)).intValue() : 0;
+            needed -= taken[stripe];
+        }
+        if (needed == 0) {
+            return true;
+        }
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            if (taken[stripe] > 0) {
+                redisTemplate.opsForValue().increment(getStripeKey(eventId, stripe), taken[stripe]);
+            }
         }
+        return false;
     }
 }
@@ -0,0 +1,256 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.InventoryConfig;
+import com.example.ticket.dto.response.InventoryUpdateResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes live stock to clients over Server-Sent Events instead of having them poll.
+ * <p>
+ * Every node subscribes once to the inventory change channel. Changed events are
+ * collected and, once per debounce interval, the counts of those that have watchers are
+ * read with a single MGET and written to every watcher. Idle connections hold no thread
+ * (servlet async); writes run on virtual threads so a slow client never delays others.
+ * Writes to one client are serialized and coalesced: at most one write per client is in
+ * flight, and a client that falls behind only gets the latest count.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryStreamService implements MessageListener {
+
+    private static final String EVENT_NAME = "inventory";
+    private static final String KEEP_ALIVE = "";
+
+    private final InventoryService inventoryService;
+    private final InventoryConfig inventoryConfig;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Long, Set<Watcher>> watchers = new ConcurrentHashMap<>();
+    private final Set<Long> changedEvents = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Integer> lastPushed = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(InventoryService.CHANGED_CHANNEL));
+        Gauge.builder("inventory.stream.connections", this, InventoryStreamService::getWatcherCount)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a stream for an event. The current stock is sent right away, then every change.
+     */
+    public SseEmitter watch(Long eventId) {
+        SseEmitter emitter = new SseEmitter(inventoryConfig.getStream().getConnectionTimeout().toMillis());
+        Watcher watcher = new Watcher(eventId, emitter);
+        boolean[] firstWatcher = new boolean[1];
+        watchers.compute(eventId, (id, eventWatchers) -> {
+            Set<Watcher> updated = eventWatchers != null ? eventWatchers : ConcurrentHashMap.newKeySet();
+            firstWatcher[0] = updated.isEmpty();
+            updated.add(watcher);
+            return updated;
+        });
+
+        Runnable remove = () -> removeWatcher(watcher);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        // Reuse the last pushed count so a reconnect storm does not turn into one Redis read each.
+        // Changes are ignored while nobody watches, so the first watcher always reads Redis
+        Integer available = firstWatcher[0] ? null : lastPushed.get(eventId);
+        if (available == null) {
+            available = inventoryService.getAvailableInventory(List.of(eventId)).getOrDefault(eventId, 0);
+            int read = available;
+            // Cached only while the event is watched; removeWatcher clears it with the last one
+            watchers.computeIfPresent(eventId, (id, eventWatchers) -> {
+                lastPushed.putIfAbsent(id, read);
+                return eventWatchers;
+            });
+        }
+        watcher.send(encode(eventId, available));
+        return emitter;
+    }
+
+    public int getWatcherCount() {
+        return watchers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        for (String id : body.split(",")) {
+            try {
+                Long eventId = Long.parseLong(id);
+                if (watchers.containsKey(eventId)) {
+                    changedEvents.add(eventId);
+                }
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed inventory change message: {}", body);
+            }
+        }
+    }
+
+    /**
+     * Push coalesced changes: one MGET for all changed, watched events, one encode per event.
+     */
+    @Scheduled(fixedDelayString = "${ticket.inventory.stream.debounce:250ms}")
+    public void pushChanges() {
+        if (changedEvents.isEmpty()) {
+            return;
+        }
+        List<Long> eventIds = new ArrayList<>();
+        for (Long eventId : changedEvents) {
+            changedEvents.remove(eventId);
+            eventIds.add(eventId);
+        }
+
+        Map<Long, Integer> available = inventoryService.getAvailableInventory(eventIds);
+        for (Long eventId : eventIds) {
+            int count = available.getOrDefault(eventId, 0);
+            Integer[] previous = new Integer[1];
+            // Cache the count only while the event is watched, atomically with removeWatcher
+            Set<Watcher> eventWatchers = watchers.computeIfPresent(eventId, (id, current) -> {
+                previous[0] = lastPushed.put(id, count);
+                return current;
+            });
+            if (eventWatchers == null || Integer.valueOf(count).equals(previous[0])) {
+                continue;
+            }
+
+            String payload = encode(eventId, count);
+            for (Watcher watcher : eventWatchers) {
+                watcher.send(payload);
+            }
+        }
+    }
+
+    /**
+     * Keep-alive comments so proxies do not drop idle streams, and dead clients are noticed.
+     */
+    @Scheduled(fixedDelayString = "${ticket.inventory.stream.heartbeat:15s}")
+    public void heartbeat() {
+        watchers.values().forEach(eventWatchers -> eventWatchers.forEach(Watcher::keepAlive));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchers.values().forEach(eventWatchers -> eventWatchers.forEach(watcher -> watcher.emitter.complete()));
+        watchers.clear();
+        senders.shutdown();
+    }
+
+    private String encode(Long eventId, int available) {
+        try {
+            return objectMapper.writeValueAsString(InventoryUpdateResponse.builder()
+                    .eventId(eventId)
+                    .availableTickets(available)
+                    .soldOut(available <= 0)
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode inventory update", e);
+        }
+    }
+
+    private void removeWatcher(Watcher watcher) {
+        watchers.computeIfPresent(watcher.eventId, (id, eventWatchers) -> {
+            eventWatchers.remove(watcher);
+            if (eventWatchers.isEmpty()) {
+                lastPushed.remove(watcher.eventId);
+                return null;
+            }
+            return eventWatchers;
+        });
+    }
+
+    /**
+     * One client stream. Holds the next message to write (a newer count replaces an unsent
+     * one) and runs at most one writer at a time, so counts reach the client in order.
+     */
+    private final class Watcher {
+
+        private final Long eventId;
+        private final SseEmitter emitter;
+        private final AtomicReference<String> next = new AtomicReference<>();
+        private final AtomicBoolean writing = new AtomicBoolean();
+
+        private Watcher(Long eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+        }
+
+        void send(String payload) {
+            next.set(payload);
+            schedule();
+        }
+
+        void keepAlive() {
+            // Anything already queued keeps the connection alive just as well
+            if (next.compareAndSet(null, KEEP_ALIVE)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (writing.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                String payload = next.getAndSet(null);
+                if (payload == null) {
+                    writing.set(false);
+                    // A message queued after the last read but before the flag cleared
+                    if (next.get() == null || !writing.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    if (KEEP_ALIVE.equals(payload)) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        emitter.send(SseEmitter.event().name(EVENT_NAME).data(payload, MediaType.APPLICATION_JSON));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away
+                    removeWatcher(this);
+                    writing.set(false);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.ticket.service;
+
+/**
+ * This node's right to run a cluster-wide job.
+ *
+ * @param token fencing token, strictly increasing every time the lease changes hands
+ */
+public record JobLease(String jobName, long token) {
+}
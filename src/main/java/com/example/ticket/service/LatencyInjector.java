@@ -0,0 +1,85 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.LatencyInjectionConfig;
+import com.example.ticket.config.LatencyInjectionConfig.Point;
+import com.example.ticket.config.LatencyInjectionConfig.Profile;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Injects artificial latency at named points of the hot path for stress testing.
+ * Starts from {@link LatencyInjectionConfig} and can be changed at runtime
+ * through the {@code latency} actuator endpoint.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatencyInjector {
+
+    private final LatencyInjectionConfig latencyInjectionConfig;
+
+    private final Map<Point, Profile> profiles = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        enabled = latencyInjectionConfig.isEnabled();
+        profiles.putAll(latencyInjectionConfig.getPoints());
+        if (enabled) {
+            log.warn("Latency injection is ENABLED: {}", profiles);
+        }
+    }
+
+    /**
+     * Sleep according to the profile of the given point, if injection is enabled.
+     */
+    public void inject(Point point) {
+        if (!enabled) {
+            return;
+        }
+
+        Profile profile = profiles.get(point);
+        if (profile == null) {
+            return;
+        }
+
+        long delayMs = profile.sample(ThreadLocalRandom.current().nextDouble());
+        if (delayMs <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        log.warn("Latency injection {}", enabled ? "ENABLED" : "disabled");
+    }
+
+    public Map<Point, Profile> getProfiles() {
+        return Map.copyOf(profiles);
+    }
+
+    public void setProfile(Point point, Profile profile) {
+        if (profile == null) {
+            profiles.remove(point);
+        } else {
+            profiles.put(point, profile);
+        }
+        log.warn("Latency profile for {} set to {}", point, profile);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.ticket.service;
+
+import com.example.ticket.domain.model.PendingOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Append-only journal for write-behind orders.
+ * Each accepted order is appended as {@code A<TAB>json} before it is acknowledged, and
+ * {@code C<TAB>orderCode} once it is in MySQL. On restart every accepted but uncommitted
+ * order is replayed.
+ */
+@Slf4j
+class OrderJournal implements AutoCloseable {
+
+    private static final String ACCEPTED = "A\t";
+    private static final String COMMITTED = "C\t";
+
+    private final Path path;
+    private final boolean fsync;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    OrderJournal(Path path, boolean fsync, ObjectMapper objectMapper) {
+        this.path = path;
+        this.fsync = fsync;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the orders that were accepted but never committed, then open for appending.
+     */
+    synchronized List<PendingOrder> open() throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        Map<String, PendingOrder> uncommitted = new LinkedHashMap<>();
+        if (Files.exists(path)) {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                try {
+                    if (line.startsWith(ACCEPTED)) {
+                        PendingOrder order = objectMapper.readValue(line.substring(ACCEPTED.length()),
+                                PendingOrder.class);
+                        uncommitted.put(order.orderCode(), order);
+                    } else if (line.startsWith(COMMITTED)) {
+                        uncommitted.remove(line.substring(COMMITTED.length()));
+                    }
+                } catch (IOException e) {
+                    // A torn last line from a crash mid-write: the order was never acknowledged
+                    log.warn("Skipping unreadable journal line: {}", line);
+                }
+            }
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        return new ArrayList<>(uncommitted.values());
+    }
+
+    synchronized void append(PendingOrder order) {
+        try {
+            write(ACCEPTED + objectMapper.writeValueAsString(order) + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to journal order " + order.orderCode(), e);
+        }
+    }
+
+    synchronized void commit(Collection<String> orderCodes) {
+        StringBuilder lines = new StringBuilder(orderCodes.size() * 24);
+        for (String orderCode : orderCodes) {
+            lines.append(COMMITTED).append(orderCode).append('\n');
+        }
+        try {
+            write(lines.toString());
+        } catch (IOException e) {
+            // Not fatal: a replay skips orders that already exist in MySQL
+            log.error("Failed to journal commit of {} orders", orderCodes.size(), e);
+        }
+    }
+
+    synchronized long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Rewrite the journal with only the still-unflushed orders.
+     * The supplier is evaluated under the journal lock, so it sees every order whose
+     * append has completed.
+     */
+    synchronized void compact(Supplier<Collection<PendingOrder>> unflushed) throws IOException {
+        Collection<PendingOrder> pending = unflushed.get();
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        List<String> lines = new ArrayList<>(pending.size());
+        for (PendingOrder order : pending) {
+            lines.add(ACCEPTED + objectMapper.writeValueAsString(order));
+        }
+        Files.write(tmp, lines, StandardCharsets.UTF_8);
+
+        channel.close();
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        log.info("Compacted order journal to {} pending orders", pending.size());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void write(String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package com.example.ticket.service;
 
+import com.example.ticket.config.HoldExpiryConfig;
 import com.example.ticket.domain.entity.Event;
 import com.example.ticket.domain.entity.Order;
+import com.example.ticket.domain.entity.OutboxMessage;
 import com.example.ticket.domain.entity.Payment;
 import com.example.ticket.domain.enums.OrderStatus;
 import com.example.ticket.domain.enums.PaymentStatus;
+import com.example.ticket.domain.id.IdGenerator;
+import com.example.ticket.domain.model.EventSnapshot;
+import com.example.ticket.domain.model.ExpiringOrder;
+import com.example.ticket.domain.model.PendingOrder;
 import com.example.ticket.domain.repository.EventRepository;
 import com.example.ticket.domain.repository.OrderRepository;
+import com.example.ticket.domain.repository.OutboxRepository;
+import com.example.ticket.domain.repository.PaymentRepository;
 import com.example.ticket.dto.request.CreateOrderRequest;
 import com.example.ticket.dto.response.OrderResponse;
+import com.example.ticket.messaging.PaymentMessageCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,10 +25,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing orders.
@@ -33,9 +52,20 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final EventRepository eventRepository;
     private final com.example.ticket.domain.repository.UserRepository userRepository; // Add this
+    private final PaymentRepository paymentRepository;
+    private final OutboxRepository outboxRepository;
     private final InventoryService inventoryService;
     private final VNPayService vnPayService;
-    private final SqsService sqsService;
+    private final PaymentMessageCodec paymentMessageCodec;
+    private final SoldOutRegistry soldOutRegistry;
+    private final EventCache eventCache;
+    private final PurchaseLimitService purchaseLimitService;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderWriteBehind orderWriteBehind;
+    private final IdGenerator idGenerator;
+    private final HoldExpiryQueue holdExpiryQueue;
+    private final ClusterJobRunner clusterJobRunner;
+    private final HoldExpiryConfig holdExpiryConfig;
 
     @Value("${ticket.hold-ttl-minutes:15}")
     private int holdTtlMinutes;
@@ -43,54 +73,63 @@ public class OrderService {
     /**
      * Create a new order with ticket hold.
      * Phase 1 of the flow: Hold tickets atomically in Redis.
+     * <p>
+     * Not transactional as a whole: validation reads and the Redis hold run without holding a
+     * pooled DB connection, and only the final persist step (order, payment, event stock)
+     * runs in a short transaction.
      */
-    @Transactional
-    public OrderResponse createOrder(CreateOrderRequest request, String ipAddress, Long userId) { // Add userId param
-        // 1. Get event
-        Event event = eventRepository.findById(request.getEventId())
+    public OrderResponse createOrder(CreateOrderRequest request, String ipAddress, Long userId) {
+        // 1. Validate against the cached event (no DB round trip on a cache hit)
+        EventSnapshot snapshot = eventCache.get(request.getEventId())
                 .orElseThrow(() -> new RuntimeException("Event not found: " + request.getEventId()));
-
-        if (!event.isOnSale()) {
-            throw new RuntimeException("Event is not on sale");
-        }
+        soldOutRegistry.registerSaleWindow(snapshot.id(), snapshot.saleStartTime(), snapshot.saleEndTime());
 
         // 1b. Check Flash Sale Constraints
         // Check sale time
-        if (event.getSaleStartTime() != null && LocalDateTime.now().isBefore(event.getSaleStartTime())) {
+        if (snapshot.saleStartTime() != null && LocalDateTime.now().isBefore(snapshot.saleStartTime())) {
             throw new RuntimeException("Sale has not started yet");
         }
-        if (event.getSaleEndTime() != null && LocalDateTime.now().isAfter(event.getSaleEndTime())) {
+        if (snapshot.saleEndTime() != null && LocalDateTime.now().isAfter(snapshot.saleEndTime())) {
             throw new RuntimeException("Sale has ended");
         }
 
-        // Check max tickets per user
-        if (event.getMaxTicketsPerUser() != null) {
-            int currentTickets = orderRepository.countTicketsByUserAndEvent(userId, event.getId());
-            if (currentTickets + request.getQuantity() > event.getMaxTicketsPerUser()) {
-                throw new RuntimeException(
-                        "Exceeds maximum tickets allowed per user (" + event.getMaxTicketsPerUser() + ")");
-            }
+        // Stock is not checked here: the Redis hold below is the authority
+        if (!snapshot.isSaleOpen()) {
+            throw new RuntimeException("Event is not on sale");
         }
-
-        // 2. Hold tickets atomically in Redis
-        boolean held = inventoryService.holdTickets(event.getId(), request.getQuantity());
-        if (!held) {
+        Event event = snapshot.toEntity();
+
+        // 2. Hold tickets atomically in Redis (also sets hold key with TTL for auto-expiration).
+        // Max tickets per user is checked against a Redis counter in the same step.
+        PurchaseLimit limit = purchaseLimitService.limitFor(userId, snapshot);
+        String orderCode = generateOrderCode();
+        Duration holdTtl = Duration.ofMinutes(holdTtlMinutes);
+        HoldResult hold = inventoryService.holdTicketsForOrder(orderCode, event.getId(), request.getQuantity(),
+                holdTtl, limit);
+        if (hold == HoldResult.LIMIT_NOT_LOADED) {
+            // First purchase attempt since the counter expired: load it from the database once
+            purchaseLimitService.load(limit);
+            hold = inventoryService.holdTicketsForOrder(orderCode, event.getId(), request.getQuantity(),
+                    holdTtl, limit);
+        }
+        if (hold == HoldResult.LIMIT_EXCEEDED) {
+            throw new RuntimeException(
+                    "Exceeds maximum tickets allowed per user (" + event.getMaxTicketsPerUser() + ")");
+        }
+        if (hold == HoldResult.LIMIT_NOT_LOADED) {
+            throw new RuntimeException("Could not check purchase limit, please retry");
+        }
+        if (hold != HoldResult.HELD) {
             throw new RuntimeException("Not enough tickets available");
         }
 
-        // 2b. Get User
-        com.example.ticket.domain.entity.User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
         try {
-            // 3. Create order with PENDING status
-            String orderCode = generateOrderCode();
+            // 3. Build order and payment (VNPay URL signing is CPU only, no connection needed)
             LocalDateTime now = LocalDateTime.now();
             LocalDateTime expiredAt = now.plusMinutes(holdTtlMinutes);
 
             Order order = Order.builder()
                     .orderCode(orderCode)
-                    .user(user) // Link user
                     .event(event)
                     .quantity(request.getQuantity())
                     .totalAmount(event.getBasePrice().multiply(java.math.BigDecimal.valueOf(request.getQuantity())))
@@ -100,26 +139,40 @@ public class OrderService {
                     .customerEmail(request.getCustomerEmail())
                     .customerPhone(request.getCustomerPhone())
                     .build();
-
-            Order savedOrder = orderRepository.save(order);
-
-            // 4. Create payment record and get VNPay URL
-            Payment payment = vnPayService.createPayment(savedOrder, ipAddress);
-
-            // 5. Set hold key with TTL in Redis for auto-expiration
-            inventoryService.setOrderHold(orderCode, event.getId(), request.getQuantity(),
-                    Duration.ofMinutes(holdTtlMinutes));
-
-            // 6. Update database inventory (for consistency)
-            eventRepository.decrementAvailableTickets(event.getId(), request.getQuantity());
+            Payment payment = vnPayService.preparePayment(order, ipAddress);
+
+            if (orderWriteBehind.isEnabled()) {
+                // 4a. Write-behind: journal + buffer, written to MySQL in batches
+                order.setId(idGenerator.nextId());
+                order.setCreatedAt(now);
+                payment.setId(idGenerator.nextId());
+                orderWriteBehind.submit(PendingOrder.of(order, payment, userId));
+            } else {
+                // 4b. Persist in one short transaction
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Reference only: the FK check replaces a SELECT on users
+                    order.setUser(userRepository.getReferenceById(userId));
+                    orderRepository.save(order);
+                    paymentRepository.save(payment);
+
+                    // Update database inventory (for consistency)
+                    eventRepository.decrementAvailableTickets(event.getId(), request.getQuantity());
+                });
+            }
 
             log.info("Created order {} for {} tickets of event {}",
                     orderCode, request.getQuantity(), event.getName());
 
-            return toResponse(savedOrder, payment);
-        } catch (Exception e) {
+            scheduleExpiry(orderCode, expiredAt);
+
+            return toResponse(order, payment);
+        } catch (RuntimeException e) {
             // Rollback Redis hold on any error
             inventoryService.releaseTickets(event.getId(), request.getQuantity());
+            inventoryService.removeOrderHold(orderCode);
+            if (limit != null) {
+                purchaseLimitService.release(userId, event.getId(), request.getQuantity());
+            }
             throw e;
         }
     }
@@ -129,8 +182,15 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public OrderResponse getOrderByCode(String orderCode) {
-        Order order = orderRepository.findByOrderCode(orderCode)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderCode));
+        Order order = orderRepository.findByOrderCode(orderCode).orElse(null);
+        if (order == null) {
+            // Accepted in write-behind mode but not flushed yet
+            PendingOrder pending = orderWriteBehind.isEnabled() ? orderWriteBehind.getPending(orderCode) : null;
+            if (pending == null) {
+                throw new RuntimeException("Order not found: " + orderCode);
+            }
+            return toResponse(pending);
+        }
 
         Payment payment = order.getPayment();
         return toResponse(order, payment);
@@ -165,13 +225,78 @@ public class OrderService {
 
         // Remove hold key from Redis (tickets are now sold)
         inventoryService.removeOrderHold(orderCode);
+        holdExpiryQueue.cancel(List.of(orderCode));
 
         log.info("Order {} marked as PAID", orderCode);
     }
 
+    /**
+     * Mark a batch of orders as paid.
+     * Locks the orders, flips every one still PENDING with a single UPDATE and then drops
+     * their hold keys in one Redis call. Duplicate and already paid codes are no-ops; codes
+     * whose order already expired or was cancelled are reported in {@code paidAfterRelease}.
+     */
+    public PaidBatchResult markOrdersPaid(Collection<String> orderCodes) {
+        Set<String> codes = new LinkedHashSet<>(orderCodes);
+        if (codes.isEmpty()) {
+            return new PaidBatchResult(Set.of(), Set.of(), Set.of());
+        }
+
+        PaidBatchResult result = transactionTemplate.execute(status -> {
+            Set<String> pending = new LinkedHashSet<>();
+            Set<String> notFound = new LinkedHashSet<>(codes);
+            Set<String> paidAfterRelease = new LinkedHashSet<>();
+            for (Object[] row : orderRepository.lockStatusesByOrderCodes(codes)) {
+                String orderCode = (String) row[0];
+                notFound.remove(orderCode);
+                if (OrderStatus.PENDING.name().equals(row[1])) {
+                    pending.add(orderCode);
+                } else if (OrderStatus.FAILED.name().equals(row[1])
+                        || OrderStatus.CANCELLED.name().equals(row[1])) {
+                    paidAfterRelease.add(orderCode);
+                }
+            }
+            if (!pending.isEmpty()) {
+                orderRepository.markAsPaid(pending, LocalDateTime.now());
+            }
+            return new PaidBatchResult(pending, notFound, paidAfterRelease);
+        });
+
+        // Remove hold keys from Redis (tickets are now sold)
+        inventoryService.removeOrderHolds(result.paid());
+        holdExpiryQueue.cancel(result.paid());
+
+        if (!result.paidAfterRelease().isEmpty()) {
+            // Seats are already back on sale; retrying cannot fix these
+            log.error("Payment received for {} released orders, refund or review required: {}",
+                    result.paidAfterRelease().size(), result.paidAfterRelease());
+        }
+        log.info("Marked {} of {} orders as PAID ({} not found, {} released)",
+                result.paid().size(), codes.size(), result.notFound().size(), result.paidAfterRelease().size());
+        return result;
+    }
+
+    /**
+     * Apply a verified VNPay callback: update the payment and then the order, in one transaction.
+     * On success the ORDER_PAID message is written to the outbox in that same transaction,
+     * so the callback never waits on the queue and the message cannot be lost.
+     */
+    @Transactional
+    public Payment processPaymentCallback(Map<String, String> params) {
+        Payment payment = vnPayService.processCallback(params);
+        String orderCode = payment.getOrder().getOrderCode();
+
+        if (payment.getStatus() == PaymentStatus.SUCCESS) {
+            handlePaymentSuccess(orderCode);
+        } else {
+            handlePaymentFailure(orderCode);
+        }
+        return payment;
+    }
+
     /**
      * Handle payment success callback.
-     * Sends message to SQS for async processing.
+     * Queues the ORDER_PAID message in the outbox for async order finalization.
      */
     @Transactional
     public void handlePaymentSuccess(String orderCode) {
@@ -183,58 +308,212 @@ public class OrderService {
             return;
         }
 
-        // Push message to SQS for async order finalization
-        sqsService.sendOrderPaidMessage(orderCode);
-        log.info("Sent ORDER_PAID message to SQS for order {}", orderCode);
+        // Published to the message bus by the outbox relay once this transaction commits
+        outboxRepository.save(OutboxMessage.builder()
+                .type("ORDER_PAID")
+                .payload(paymentMessageCodec.encodeOrderPaid(orderCode))
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.info("Queued ORDER_PAID message for order {}", orderCode);
     }
 
     /**
      * Handle payment failure.
-     * Release held tickets back to inventory.
+     * Takes the same path as hold expiry: the order is locked and flipped to FAILED only if it
+     * is still PENDING, so a failure callback racing the expiry releases its tickets once.
+     * Redis stock, the hold key and the purchase allowance are given back after commit.
      */
     @Transactional
     public void handlePaymentFailure(String orderCode) {
-        Order order = orderRepository.findByOrderCode(orderCode)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderCode));
-
-        if (order.getStatus() != OrderStatus.PENDING) {
+        List<ExpiringOrder> pending = orderRepository.lockPendingByOrderCodes(List.of(orderCode)).stream()
+                .map(ExpiringOrder::fromRow)
+                .toList();
+        if (pending.isEmpty() || orderRepository.markAsFailed(List.of(orderCode)) != 1) {
             log.warn("Order {} is not in PENDING status", orderCode);
             return;
         }
 
-        // Update order status
-        order.setStatus(OrderStatus.FAILED);
-        orderRepository.save(order);
-
-        // Release tickets back to inventory
-        inventoryService.releaseTickets(order.getEvent().getId(), order.getQuantity());
-        inventoryService.removeOrderHold(orderCode);
-
         // Update database inventory
-        int updatedRows = eventRepository.incrementAvailableTickets(order.getEvent().getId(), order.getQuantity());
+        ExpiringOrder order = pending.get(0);
+        int updatedRows = eventRepository.incrementAvailableTickets(order.eventId(), order.quantity());
+
+        // Release tickets back to inventory and to the user's per-event allowance once committed
+        afterCommit(() -> {
+            releaseExpired(pending);
+            holdExpiryQueue.cancel(List.of(orderCode));
+        });
         log.info("Order {} marked as FAILED, tickets released. Rows updated: {}", orderCode, updatedRows);
     }
 
     /**
      * Expire pending orders that have passed their TTL.
      * Called by scheduled task.
+     * <p>
+     * Walks the expired PENDING orders in keyset order, one chunk per transaction: each chunk is
+     * locked, marked FAILED with one UPDATE and its stock returned with one UPDATE per event,
+     * then released in Redis with one INCRBY per event and one DEL for all hold keys.
      */
-    @Transactional
-    public void expireOldOrders() {
-        var expiredOrders = orderRepository.findExpiredOrders(OrderStatus.PENDING, LocalDateTime.now());
-
-        for (Order order : expiredOrders) {
-            try {
-                handlePaymentFailure(order.getOrderCode());
-                log.info("Expired order: {}", order.getOrderCode());
-            } catch (Exception e) {
-                log.error("Error expiring order {}", order.getOrderCode(), e);
+    public void expireOldOrders(JobLease lease) {
+        LocalDateTime now = LocalDateTime.now();
+        int chunkSize = holdExpiryConfig.getScanChunkSize();
+        LocalDateTime afterExpiredAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+        long afterId = 0;
+        int total = 0;
+
+        while (true) {
+            LocalDateTime cursorExpiredAt = afterExpiredAt;
+            long cursorId = afterId;
+            List<Object[]> rows = transactionTemplate.execute(status -> {
+                clusterJobRunner.fence(lease);
+                List<Object[]> chunk = orderRepository.lockExpiredChunk(now, cursorExpiredAt, cursorId, chunkSize);
+                if (!chunk.isEmpty()) {
+                    List<ExpiringOrder> orders = chunk.stream().map(ExpiringOrder::fromRow).toList();
+                    orderRepository.markAsFailed(orders.stream().map(ExpiringOrder::orderCode).toList());
+                    quantitiesByEvent(orders).forEach(eventRepository::incrementAvailableTickets);
+                }
+                return chunk;
+            });
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            List<ExpiringOrder> expired = rows.stream().map(ExpiringOrder::fromRow).toList();
+            releaseExpired(expired);
+            holdExpiryQueue.cancel(expired.stream().map(ExpiringOrder::orderCode).toList());
+            total += expired.size();
+
+            Object[] last = rows.get(rows.size() - 1);
+            afterId = ((Number) last[4]).longValue();
+            afterExpiredAt = toLocalDateTime(last[5]);
+            if (rows.size() < chunkSize) {
+                break;
             }
         }
+
+        if (total > 0) {
+            log.info("Expired {} orders", total);
+        }
+    }
+
+    /**
+     * Expire a batch of orders whose holds have run out.
+     * Locks the ones still PENDING and past their {@code expiredAt}, marks them FAILED and
+     * returns their stock to MySQL with one update per event in a single transaction, then
+     * releases Redis stock, hold keys and purchase allowances. Orders already paid or failed
+     * are skipped; orders not due yet (a timer that fired early, another node's clock) are
+     * scheduled again for their real deadline.
+     *
+     * @return the orders that were expired
+     */
+    public List<ExpiringOrder> expireOrdersByCode(Collection<String> orderCodes) {
+        if (orderCodes.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ExpiringOrder> expired = transactionTemplate.execute(status -> {
+            List<ExpiringOrder> pending = orderRepository.lockDuePendingByOrderCodes(orderCodes, now).stream()
+                    .map(ExpiringOrder::fromRow)
+                    .toList();
+            if (pending.size() < orderCodes.size()) {
+                rescheduleNotDue(orderCodes, pending);
+            }
+            if (pending.isEmpty()) {
+                return pending;
+            }
+            orderRepository.markAsFailed(pending.stream().map(ExpiringOrder::orderCode).toList());
+            quantitiesByEvent(pending).forEach(eventRepository::incrementAvailableTickets);
+            return pending;
+        });
+
+        releaseExpired(expired);
+
+        log.info("Expired {} of {} orders", expired.size(), orderCodes.size());
+        return expired;
+    }
+
+    /**
+     * Put orders that were claimed before their deadline back on the expiry queue.
+     */
+    private void rescheduleNotDue(Collection<String> orderCodes, List<ExpiringOrder> due) {
+        Set<String> dueCodes = due.stream().map(ExpiringOrder::orderCode).collect(Collectors.toSet());
+        List<String> others = orderCodes.stream().filter(code -> !dueCodes.contains(code)).toList();
+        for (Object[] row : orderRepository.findPendingDeadlines(others)) {
+            LocalDateTime expiredAt = toLocalDateTime(row[1]);
+            holdExpiryQueue.schedule((String) row[0], expiredAt);
+            log.debug("Order {} claimed before its deadline {}, rescheduled", row[0], expiredAt);
+        }
+    }
+
+    /**
+     * Give the stock, hold keys and purchase allowances of committed expiries back in Redis.
+     */
+    private void releaseExpired(List<ExpiringOrder> expired) {
+        if (expired.isEmpty()) {
+            return;
+        }
+        quantitiesByEvent(expired).forEach(inventoryService::releaseTickets);
+        inventoryService.removeOrderHolds(expired.stream().map(ExpiringOrder::orderCode).toList());
+        for (ExpiringOrder order : expired) {
+            purchaseLimitService.release(order.userId(), order.eventId(), order.quantity());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private static Map<Long, Integer> quantitiesByEvent(List<ExpiringOrder> orders) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (ExpiringOrder order : orders) {
+            quantities.merge(order.eventId(), order.quantity(), Integer::sum);
+        }
+        return quantities;
+    }
+
+    private void scheduleExpiry(String orderCode, LocalDateTime expiredAt) {
+        try {
+            holdExpiryQueue.schedule(orderCode, expiredAt);
+        } catch (RuntimeException e) {
+            // The order is placed; the periodic expiry scan still releases it
+            log.warn("Could not schedule hold expiry for order {}: {}", orderCode, e.getMessage());
+        }
     }
 
     private String generateOrderCode() {
-        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return "ORD-" + idGenerator.nextCode();
+    }
+
+    private OrderResponse toResponse(PendingOrder order) {
+        return OrderResponse.builder()
+                .id(order.orderId())
+                .orderCode(order.orderCode())
+                .eventId(order.eventId())
+                .eventName(order.eventName())
+                .quantity(order.quantity())
+                .totalAmount(order.totalAmount())
+                .status(OrderStatus.PENDING)
+                .createdAt(order.createdAt())
+                .expiredAt(order.expiredAt())
+                .customerName(order.customerName())
+                .customerEmail(order.customerEmail())
+                .customerPhone(order.customerPhone())
+                .paymentUrl(order.paymentUrl())
+                .paymentStatus(PaymentStatus.PENDING.name())
+                .build();
     }
 
     private OrderResponse toResponse(Order order, Payment payment) {
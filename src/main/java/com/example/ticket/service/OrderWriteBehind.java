@@ -0,0 +1,277 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.WriteBehindConfig;
+import com.example.ticket.domain.model.PendingOrder;
+import com.example.ticket.domain.repository.OrderBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind persistence for accepted orders.
+ * Once the Redis hold succeeds the order is journaled, put on a bounded ring buffer and
+ * acknowledged; a single flusher thread writes orders, payments and event stock in
+ * multi-row batches, one short transaction per batch.
+ * <p>
+ * A batch that fails on a transient error (failover, lock wait timeout, no connection) is
+ * retried with backoff and stays in the journal until it is written. Only orders rejected
+ * by a constraint are dropped, after isolating them from the rest of their batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderWriteBehind {
+
+    private final WriteBehindConfig writeBehindConfig;
+    private final OrderBatchRepository orderBatchRepository;
+    private final InventoryService inventoryService;
+    private final PurchaseLimitService purchaseLimitService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Accepted orders not yet in MySQL, by order code (for reads and journal compaction).
+     */
+    private final Map<String, PendingOrder> inFlight = new ConcurrentHashMap<>();
+
+    private BlockingQueue<PendingOrder> buffer;
+    private OrderJournal journal;
+    private Thread flusher;
+    private volatile boolean running;
+    private volatile boolean stopping;
+    private volatile long drainDeadlineNanos;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!writeBehindConfig.isEnabled()) {
+            return;
+        }
+
+        buffer = new ArrayBlockingQueue<>(writeBehindConfig.getBufferCapacity());
+        journal = new OrderJournal(Path.of(writeBehindConfig.getJournalPath()), writeBehindConfig.isFsync(),
+                objectMapper);
+
+        // Replay orders accepted before a crash, skipping any that did reach MySQL
+        List<PendingOrder> unflushed = journal.open();
+        if (!unflushed.isEmpty()) {
+            Set<String> existing = orderBatchRepository.findExistingOrderCodes(
+                    unflushed.stream().map(PendingOrder::orderCode).toList());
+            List<PendingOrder> missing = unflushed.stream()
+                    .filter(order -> !existing.contains(order.orderCode()))
+                    .toList();
+            log.warn("Replaying {} journaled orders ({} already persisted)", missing.size(), existing.size());
+            for (int from = 0; from < missing.size(); from += writeBehindConfig.getBatchSize()) {
+                flush(missing.subList(from, Math.min(from + writeBehindConfig.getBatchSize(), missing.size())));
+            }
+            journal.commit(existing);
+        }
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "order-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Write-behind order persistence enabled (batch size {}, journal {})",
+                writeBehindConfig.getBatchSize(), writeBehindConfig.getJournalPath());
+    }
+
+    public boolean isEnabled() {
+        return writeBehindConfig.isEnabled();
+    }
+
+    /**
+     * Journal and enqueue an accepted order.
+     *
+     * @throws RuntimeException if the buffer is full; the caller must release the hold
+     */
+    public void submit(PendingOrder order) {
+        if (!running) {
+            throw new RuntimeException("Order system is shutting down, please retry");
+        }
+
+        // Registered before the append so a concurrent compaction never drops it
+        inFlight.put(order.orderCode(), order);
+        try {
+            journal.append(order);
+        } catch (RuntimeException e) {
+            inFlight.remove(order.orderCode());
+            throw e;
+        }
+
+        if (!buffer.offer(order)) {
+            inFlight.remove(order.orderCode());
+            journal.commit(List.of(order.orderCode()));
+            throw new RuntimeException("Order system is busy, please retry");
+        }
+    }
+
+    /**
+     * Look up an accepted order that has not been written yet.
+     */
+    public PendingOrder getPending(String orderCode) {
+        return inFlight.get(orderCode);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        // The flusher drains the buffer itself; interrupting it would fail its connection checkout
+        Duration drainTimeout = writeBehindConfig.getDrainTimeout();
+        drainDeadlineNanos = System.nanoTime() + drainTimeout.toNanos();
+        stopping = true;
+        running = false;
+        flusher.join(drainTimeout.plusSeconds(1).toMillis());
+        if (flusher.isAlive()) {
+            log.warn("Write-behind flusher still busy after {}; unwritten orders stay in the journal", drainTimeout);
+        }
+        journal.close();
+    }
+
+    private void runFlusher() {
+        List<PendingOrder> batch = new ArrayList<>(writeBehindConfig.getBatchSize());
+        long waitNanos = writeBehindConfig.getFlushInterval().toNanos();
+
+        while (running || (!buffer.isEmpty() && !drainExpired())) {
+            try {
+                PendingOrder first = buffer.poll(waitNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    compactJournalIfNeeded();
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, writeBehindConfig.getBatchSize() - 1);
+
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                log.error("Write-behind flusher error", e);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Persist one batch. Transient failures are retried until the write succeeds (or
+     * shutdown runs out of time); a constraint violation isolates the offending rows.
+     */
+    private void flush(List<PendingOrder> batch) {
+        try {
+            persistWithRetry(batch);
+            return;
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch of {} orders violates a constraint, writing them one by one: {}",
+                    batch.size(), e.getMessage());
+        }
+
+        for (PendingOrder order : batch) {
+            try {
+                if (!persistWithRetry(List.of(order))) {
+                    return;
+                }
+            } catch (DuplicateKeyException e) {
+                // Written before (e.g. by a replay that raced the flusher): nothing to release
+                log.warn("Order {} is already persisted", order.orderCode());
+                committed(List.of(order));
+            } catch (DataIntegrityViolationException e) {
+                // Unwritable order (e.g. unknown user): give its tickets and allowance back
+                log.error("Dropping order {} after write failure", order.orderCode(), e);
+                inventoryService.releaseTickets(order.eventId(), order.quantity());
+                inventoryService.removeOrderHold(order.orderCode());
+                purchaseLimitService.release(order.userId(), order.eventId(), order.quantity());
+                committed(List.of(order));
+            }
+        }
+    }
+
+    /**
+     * Write a batch, retrying with exponential backoff on anything but a constraint violation.
+     *
+     * @return false if shutdown ran out of time first; the orders stay journaled for replay
+     * @throws DataIntegrityViolationException if the batch can never be written as is
+     */
+    private boolean persistWithRetry(List<PendingOrder> batch) {
+        long backoffMillis = writeBehindConfig.getRetryBackoff().toMillis();
+        long maxBackoffMillis = writeBehindConfig.getMaxRetryBackoff().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                persist(batch);
+                break;
+            } catch (DataIntegrityViolationException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                if (drainExpired()) {
+                    log.error("Leaving {} orders in the journal for replay after shutdown timeout: {}",
+                            batch.size(), e.getMessage());
+                    return false;
+                }
+                log.warn("Batch of {} orders failed (attempt {}), retrying in {} ms: {}",
+                        batch.size(), attempt, backoffMillis, e.getMessage());
+                try {
+                    Thread.sleep(backoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+                backoffMillis = Math.min(backoffMillis * 2, maxBackoffMillis);
+            }
+        }
+        committed(batch);
+        return true;
+    }
+
+    private boolean drainExpired() {
+        return stopping && System.nanoTime() - drainDeadlineNanos > 0;
+    }
+
+    private void persist(List<PendingOrder> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            orderBatchRepository.insertOrders(batch);
+            orderBatchRepository.insertPayments(batch);
+
+            Map<Long, Integer> quantitiesByEvent = new HashMap<>();
+            for (PendingOrder order : batch) {
+                quantitiesByEvent.merge(order.eventId(), order.quantity(), Integer::sum);
+            }
+            orderBatchRepository.decrementAvailableTickets(quantitiesByEvent);
+        });
+        log.debug("Wrote batch of {} orders", batch.size());
+    }
+
+    private void committed(List<PendingOrder> batch) {
+        List<String> codes = batch.stream().map(PendingOrder::orderCode).toList();
+        journal.commit(codes);
+        codes.forEach(inFlight::remove);
+    }
+
+    private void compactJournalIfNeeded() {
+        try {
+            if (journal.size() > writeBehindConfig.getJournalCompactBytes()) {
+                journal.compact(() -> List.copyOf(inFlight.values()));
+            }
+        } catch (IOException e) {
+            log.error("Failed to compact order journal", e);
+        }
+    }
+}
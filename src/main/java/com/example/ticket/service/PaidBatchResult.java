@@ -0,0 +1,15 @@
+package com.example.ticket.service;
+
+import java.util.Set;
+
+/**
+ * Outcome of finalizing a batch of paid orders.
+ *
+ * @param paid             codes that moved from PENDING to PAID in this call
+ * @param notFound         codes with no stored order (yet)
+ * @param paidAfterRelease codes paid for after the order expired or was cancelled; the money
+ *                         was taken but the seats were released, so these need a refund or
+ *                         manual review. Everything else was already PAID
+ */
+public record PaidBatchResult(Set<String> paid, Set<String> notFound, Set<String> paidAfterRelease) {
+}
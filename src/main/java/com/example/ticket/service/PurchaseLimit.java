@@ -0,0 +1,23 @@
+package com.example.ticket.service;
+
+import java.time.Duration;
+
+/**
+ * Per-user ticket limit for one event, backed by a Redis counter of tickets the user
+ * holds or has bought (every order that is not FAILED).
+ */
+public record PurchaseLimit(Long userId, Long eventId, int maxTickets) {
+
+    /**
+     * Idle counters expire; the next purchase attempt reloads them from the database.
+     */
+    static final Duration COUNTER_TTL = Duration.ofDays(1);
+
+    static String counterKey(Long userId, Long eventId) {
+        return "purchase:event:" + eventId + ":user:" + userId;
+    }
+
+    public String counterKey() {
+        return counterKey(userId, eventId);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ticket.service;
+
+import com.example.ticket.domain.model.EventSnapshot;
+import com.example.ticket.domain.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Per-user purchase limits kept as Redis counters, so the order hot path does not run a
+ * SUM over the user's orders. A counter is loaded from the database on first use and
+ * then moved by the hold (up) and by failed or expired orders (down).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurchaseLimitService {
+
+    private final StringRedisTemplate redisTemplate;
+    private final OrderRepository orderRepository;
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> reservePurchaseScript;
+    private final RedisScript<Long> releasePurchaseScript;
+
+    /**
+     * The limit that applies to this user for this event, or null if the event has none.
+     */
+    public PurchaseLimit limitFor(Long userId, EventSnapshot event) {
+        Integer maxTickets = event.maxTicketsPerUser();
+        return maxTickets != null ? new PurchaseLimit(userId, event.id(), maxTickets) : null;
+    }
+
+    /**
+     * Load a user's counter from the database unless another request already did.
+     */
+    public void load(PurchaseLimit limit) {
+        int purchased = orderRepository.countTicketsByUserAndEvent(limit.userId(), limit.eventId());
+        Boolean loaded = redisTemplate.opsForValue().setIfAbsent(limit.counterKey(), String.valueOf(purchased),
+                PurchaseLimit.COUNTER_TTL);
+        log.debug("Loaded purchase counter for user {} event {}: {} (set: {})",
+                limit.userId(), limit.eventId(), purchased, loaded);
+    }
+
+    /**
+     * Reserve tickets against the limit on its own, for hold paths that do not run the
+     * combined hold script. Pair with {@link #release} if the hold then fails.
+     */
+    public HoldResult reserve(PurchaseLimit limit, int quantity) {
+        List<?> result = redisTemplate.execute(reservePurchaseScript, List.of(limit.counterKey()),
+                String.valueOf(quantity), String.valueOf(limit.maxTickets()),
+                String.valueOf(PurchaseLimit.COUNTER_TTL.toMillis()));
+        return toHoldResult(result);
+    }
+
+    /**
+     * Give tickets back to a user's allowance (failed, expired or abandoned order).
+     * No-op when the counter is not loaded, e.g. for events without a limit.
+     */
+    public void release(Long userId, Long eventId, int quantity) {
+        if (userId == null) {
+            return;
+        }
+        Long purchased = redisTemplate.execute(releasePurchaseScript,
+                List.of(PurchaseLimit.counterKey(userId, eventId)), String.valueOf(quantity));
+        if (purchased != null && purchased >= 0) {
+            log.debug("Released {} tickets from purchase counter for user {} event {}: {}",
+                    quantity, userId, eventId, purchased);
+        }
+    }
+
+    /**
+     * Map a {code, value} script reply to a hold result.
+     */
+    static HoldResult toHoldResult(List<?> result) {
+        if (result == null) {
+            return HoldResult.INSUFFICIENT_STOCK;
+        }
+        return switch (((Number) result.get(0)).intValue()) {
+            case 1 -> HoldResult.HELD;
+            case -1 -> HoldResult.LIMIT_EXCEEDED;
+            case -2 -> HoldResult.LIMIT_NOT_LOADED;
+            default -> HoldResult.INSUFFICIENT_STOCK;
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.InventoryConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local view of which events are sold out or outside their sale window.
+ * Lets the order endpoint reject hopeless requests before any DB or Redis I/O.
+ * Sold-out changes are broadcast to every node over Redis pub/sub.
+ * A sold-out flag only lasts {@code ticket.inventory.sold-out-ttl}: after that the next
+ * purchase goes to Redis again, so a flag that arrived out of order or was set while stock
+ * was still leased cannot block sales for good.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SoldOutRegistry implements MessageListener {
+
+    private static final String CHANNEL = "ticket:inventory:sold-out";
+    private static final String SOLD_OUT = "SOLD_OUT:";
+    private static final String AVAILABLE = "AVAILABLE:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final InventoryConfig inventoryConfig;
+
+    /**
+     * Sold-out flags by event ID, as the {@link System#nanoTime()} they lapse at.
+     */
+    private final Map<Long, Long> soldOutUntil = new ConcurrentHashMap<>();
+    private final Map<Long, SaleWindow> saleWindows = new ConcurrentHashMap<>();
+
+    private record SaleWindow(LocalDateTime start, LocalDateTime end) {
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * Reject purchases for events known to be sold out or outside their sale window.
+     * Unknown events pass through; the full checks in OrderService still apply.
+     */
+    public void checkPurchasable(Long eventId) {
+        if (isSoldOut(eventId)) {
+            throw new RuntimeException("Not enough tickets available");
+        }
+
+        SaleWindow window = saleWindows.get(eventId);
+        if (window != null) {
+            LocalDateTime now = LocalDateTime.now();
+            if (window.start() != null && now.isBefore(window.start())) {
+                throw new RuntimeException("Sale has not started yet");
+            }
+            if (window.end() != null && now.isAfter(window.end())) {
+                throw new RuntimeException("Sale has ended");
+            }
+        }
+    }
+
+    /**
+     * Remember an event's sale window, learned whenever the event is loaded.
+     */
+    public void registerSaleWindow(Long eventId, LocalDateTime start, LocalDateTime end) {
+        if (start == null && end == null) {
+            saleWindows.remove(eventId);
+        } else {
+            saleWindows.put(eventId, new SaleWindow(start, end));
+        }
+    }
+
+    /**
+     * Mark an event sold out on every node.
+     * Only call this when total stock is known to be zero; see {@link #markSoldOutLocally}.
+     */
+    public void markSoldOut(Long eventId) {
+        if (flag(eventId)) {
+            redisTemplate.convertAndSend(CHANNEL, SOLD_OUT + eventId);
+            log.info("Event {} is sold out", eventId);
+        }
+    }
+
+    /**
+     * Mark an event sold out on this node only, for when other nodes may still hold stock
+     * that this node cannot see (LEASE mode).
+     */
+    public void markSoldOutLocally(Long eventId) {
+        flag(eventId);
+    }
+
+    /**
+     * Re-open an event on every node after tickets were released.
+     * Always broadcast: nodes that started after the sell-out may not know it was sold out.
+     */
+    public void markAvailable(Long eventId) {
+        soldOutUntil.remove(eventId);
+        redisTemplate.convertAndSend(CHANNEL, AVAILABLE + eventId);
+    }
+
+    public boolean isSoldOut(Long eventId) {
+        Long until = soldOutUntil.get(eventId);
+        if (until == null) {
+            return false;
+        }
+        if (System.nanoTime() - until >= 0) {
+            soldOutUntil.remove(eventId, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Flag an event sold out for the TTL.
+     *
+     * @return true if it was not flagged already
+     */
+    private boolean flag(Long eventId) {
+        boolean wasSoldOut = isSoldOut(eventId);
+        soldOutUntil.put(eventId, System.nanoTime() + inventoryConfig.getSoldOutTtl().toNanos());
+        return !wasSoldOut;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            if (body.startsWith(SOLD_OUT)) {
+                flag(Long.parseLong(body.substring(SOLD_OUT.length())));
+            } else if (body.startsWith(AVAILABLE)) {
+                soldOutUntil.remove(Long.parseLong(body.substring(AVAILABLE.length())));
+            }
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed sold-out message: {}", body);
+        }
+    }
+}
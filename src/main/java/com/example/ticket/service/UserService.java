@@ -0,0 +1,66 @@
+package com.example.ticket.service;
+
+import com.example.ticket.domain.entity.User;
+import com.example.ticket.domain.repository.UserRepository;
+import com.example.ticket.security.UserRevocationRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+
+/**
+ * Account changes that affect authentication.
+ * Tokens carry the role and enabled flag as claims, so every change here also revokes the
+ * user's existing tokens. The revocation runs after the update has committed, so a login
+ * racing with it cannot be issued a token with the old claims that outlives the revocation.
+ * Editing these columns directly in the database is not seen until the old tokens expire.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserService {
+
+    private static final Set<String> ROLES = Set.of("USER", "ADMIN");
+
+    private final UserRepository userRepository;
+    private final UserRevocationRegistry revocationRegistry;
+
+    /**
+     * Enable or disable an account. Disabling logs the user out on every node.
+     */
+    public void setEnabled(Long userId, boolean enabled) {
+        User user = findUser(userId);
+        if (user.getEnabled() == enabled) {
+            return;
+        }
+        user.setEnabled(enabled);
+        userRepository.save(user);
+        if (!enabled) {
+            revocationRegistry.revoke(userId);
+        }
+        log.info("User {} {}", userId, enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * Change the role of an account. Tokens with the old role stop working; the user logs in again.
+     */
+    public void changeRole(Long userId, String role) {
+        if (!ROLES.contains(role)) {
+            throw new RuntimeException("Unknown role: " + role);
+        }
+        User user = findUser(userId);
+        if (role.equals(user.getRole())) {
+            return;
+        }
+        user.setRole(role);
+        userRepository.save(user);
+        revocationRegistry.revoke(userId);
+        log.info("User {} role changed to {}", userId, role);
+    }
+
+    private User findUser(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found: " + userId));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.ticket.service;
 
+import com.example.ticket.config.LatencyInjectionConfig;
 import com.example.ticket.config.VNPayConfig;
 import com.example.ticket.domain.entity.Order;
 import com.example.ticket.domain.entity.Payment;
@@ -29,6 +30,7 @@ public class VNPayService {
 
     private final VNPayConfig vnPayConfig;
     private final PaymentRepository paymentRepository;
+    private final LatencyInjector latencyInjector;
 
     private static final DateTimeFormatter VN_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
 
@@ -37,10 +39,20 @@ public class VNPayService {
      */
     @Transactional
     public Payment createPayment(Order order, String ipAddress) {
+        Payment saved = paymentRepository.save(preparePayment(order, ipAddress));
+        log.info("Created payment for order {}: {}", order.getOrderCode(), saved.getVnpayTxnRef());
+        return saved;
+    }
+
+    /**
+     * Build an unsaved payment record with its signed VNPay URL.
+     * Pure computation, so callers can do it before opening a transaction.
+     */
+    public Payment preparePayment(Order order, String ipAddress) {
         String vnpTxnRef = generateTxnRef(order.getOrderCode());
         String paymentUrl = buildPaymentUrl(order, vnpTxnRef, ipAddress);
 
-        Payment payment = Payment.builder()
+        return Payment.builder()
                 .order(order)
                 .amount(order.getTotalAmount())
                 .paymentMethod("VNPAY")
@@ -49,16 +61,14 @@ public class VNPayService {
                 .paymentUrl(paymentUrl)
                 .ipAddress(ipAddress)
                 .build();
-
-        Payment saved = paymentRepository.save(payment);
-        log.info("Created payment for order {}: {}", order.getOrderCode(), vnpTxnRef);
-        return saved;
     }
 
     /**
      * Build VNPay payment URL with all required parameters.
      */
     public String buildPaymentUrl(Order order, String vnpTxnRef, String ipAddress) {
+        latencyInjector.inject(LatencyInjectionConfig.Point.PAYMENT_URL);
+
         Map<String, String> vnpParams = new TreeMap<>();
 
         vnpParams.put("vnp_Version", vnPayConfig.getVersion());
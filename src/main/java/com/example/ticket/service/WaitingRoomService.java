@@ -0,0 +1,197 @@
+package com.example.ticket.service;
+
+import com.example.ticket.config.WaitingRoomConfig;
+import com.example.ticket.dto.response.QueueStatusResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Virtual waiting room for flash-sale events.
+ * Users join a per-event Redis sorted set (FIFO by join sequence) and an admission job
+ * lets a configurable number of them in per second. Only admitted tokens can create orders,
+ * turning the sale-start stampede into a steady flow.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitingRoomService {
+
+    private final StringRedisTemplate redisTemplate;
+    private final WaitingRoomConfig waitingRoomConfig;
+    private final ClusterJobRunner clusterJobRunner;
+    private final RedisScript<Long> consumeAdmissionScript;
+
+    private static final String QUEUE_KEY_PREFIX = "waitingroom:event:";
+    private static final String EVENTS_KEY = "waitingroom:events";
+    private static final String TOKEN_KEY_PREFIX = "waitingroom:token:";
+    private static final String ADMITTED_KEY_PREFIX = "waitingroom:admitted:";
+
+    /**
+     * Join the waiting room for an event.
+     * A user who is still waiting (or admitted) gets their existing token back.
+     */
+    public QueueStatusResponse join(Long eventId, String userEmail) {
+        String userKey = QUEUE_KEY_PREFIX + eventId + ":user:" + userEmail;
+        String existing = redisTemplate.opsForValue().get(userKey);
+        if (existing != null) {
+            try {
+                return getStatus(existing);
+            } catch (RuntimeException e) {
+                // Token expired or already used - queue up again
+            }
+        }
+
+        String token = UUID.randomUUID().toString();
+        redisTemplate.opsForValue().set(userKey, token, waitingRoomConfig.getTokenTtl());
+
+        Long sequence = redisTemplate.opsForValue().increment(QUEUE_KEY_PREFIX + eventId + ":seq");
+        redisTemplate.opsForValue().set(getTokenKey(token), eventId + ":" + userEmail,
+                waitingRoomConfig.getTokenTtl());
+        redisTemplate.opsForZSet().add(getQueueKey(eventId), token, sequence != null ? sequence : 0);
+        redisTemplate.opsForSet().add(EVENTS_KEY, String.valueOf(eventId));
+
+        log.debug("User {} joined waiting room for event {} with token {}", userEmail, eventId, token);
+        return getStatus(token);
+    }
+
+    /**
+     * Get the queue position (or admission) for a token.
+     */
+    public QueueStatusResponse getStatus(String token) {
+        String owner = redisTemplate.opsForValue().get(getTokenKey(token));
+        if (owner == null) {
+            throw new RuntimeException("Queue token not found or expired");
+        }
+        Long eventId = Long.parseLong(owner.substring(0, owner.indexOf(':')));
+
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(getAdmittedKey(token)))) {
+            return QueueStatusResponse.builder()
+                    .token(token)
+                    .eventId(eventId)
+                    .admitted(true)
+                    .build();
+        }
+
+        Long rank = redisTemplate.opsForZSet().rank(getQueueKey(eventId), token);
+        if (rank == null) {
+            throw new RuntimeException("Queue token not found or expired");
+        }
+
+        int rate = Math.max(1, waitingRoomConfig.getAdmitRate(eventId));
+        return QueueStatusResponse.builder()
+                .token(token)
+                .eventId(eventId)
+                .admitted(false)
+                .position(rank + 1)
+                .estimatedWaitSeconds(rank / rate + 1)
+                .build();
+    }
+
+    /**
+     * Take the caller's admission for this event. The check and the delete are one script,
+     * so of concurrent requests carrying the same token only one gets through.
+     * No-op while the waiting room is disabled.
+     *
+     * @return the admission to {@link #readmit} if the order is not placed, or null when disabled
+     */
+    public Admission consumeAdmission(Long eventId, String token, String userEmail) {
+        if (!waitingRoomConfig.isEnabled()) {
+            return null;
+        }
+        if (token == null || token.isBlank()) {
+            throw new RuntimeException("Queue token required, please join the waiting room");
+        }
+
+        String owner = eventId + ":" + userEmail;
+        Long remainingMillis = redisTemplate.execute(consumeAdmissionScript, List.of(getAdmittedKey(token)),
+                owner, String.valueOf(waitingRoomConfig.getAdmissionTtl().toMillis()));
+        if (remainingMillis == null || remainingMillis <= 0) {
+            throw new RuntimeException("Queue token is not admitted for this event");
+        }
+        return new Admission(token, owner, Duration.ofMillis(remainingMillis));
+    }
+
+    /**
+     * Hand back an admission whose order failed, with the time it had left, so the user can
+     * retry without queueing again.
+     */
+    public void readmit(Admission admission) {
+        if (admission == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().setIfAbsent(getAdmittedKey(admission.token()), admission.owner(),
+                    admission.remaining());
+        } catch (Exception e) {
+            log.warn("Could not re-admit queue token {}: {}", admission.token(), e.getMessage());
+        }
+    }
+
+    /**
+     * Admit the next batch of users for every event with a queue.
+     * Runs every second, so the configured rate is users per second.
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void admitNextBatch() {
+        if (!waitingRoomConfig.isEnabled()) {
+            return;
+        }
+        // One node per cluster, otherwise every node would admit the full rate
+        clusterJobRunner.run("waiting-room-admission", Duration.ofSeconds(1), lease -> admitAll());
+    }
+
+    private void admitAll() {
+        Set<String> eventIds = redisTemplate.opsForSet().members(EVENTS_KEY);
+        if (eventIds == null) {
+            return;
+        }
+
+        for (String eventId : eventIds) {
+            try {
+                admit(Long.parseLong(eventId));
+            } catch (Exception e) {
+                log.error("Error admitting users for event {}", eventId, e);
+            }
+        }
+    }
+
+    private void admit(Long eventId) {
+        int rate = waitingRoomConfig.getAdmitRate(eventId);
+        Set<ZSetOperations.TypedTuple<String>> batch = redisTemplate.opsForZSet()
+                .popMin(getQueueKey(eventId), rate);
+        if (batch == null || batch.isEmpty()) {
+            return;
+        }
+
+        for (ZSetOperations.TypedTuple<String> entry : batch) {
+            String token = entry.getValue();
+            String owner = redisTemplate.opsForValue().get(getTokenKey(token));
+            if (owner != null) {
+                redisTemplate.opsForValue().set(getAdmittedKey(token), owner, waitingRoomConfig.getAdmissionTtl());
+            }
+        }
+        log.info("Admitted {} users for event {}", batch.size(), eventId);
+    }
+
+    private String getQueueKey(Long eventId) {
+        return QUEUE_KEY_PREFIX + eventId + ":queue";
+    }
+
+    private String getTokenKey(String token) {
+        return TOKEN_KEY_PREFIX + token;
+    }
+
+    private String getAdmittedKey(String token) {
+        return ADMITTED_KEY_PREFIX + token;
+    }
+}
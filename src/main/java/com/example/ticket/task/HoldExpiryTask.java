@@ -0,0 +1,105 @@
+package com.example.ticket.task;
+
+import com.example.ticket.config.HoldExpiryConfig;
+import com.example.ticket.service.HoldExpiryQueue;
+import com.example.ticket.service.OrderService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Releases expired holds within about a tick of their TTL.
+ * A dedicated thread advances the timing wheel every tick and claims the fired orders from
+ * the Redis sorted set; every sweep interval it also expires anything in the set that is
+ * already due (deadlines owned by a node that died before firing them).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoldExpiryTask {
+
+    private final HoldExpiryQueue holdExpiryQueue;
+    private final OrderService orderService;
+    private final HoldExpiryConfig holdExpiryConfig;
+
+    private ScheduledExecutorService ticker;
+    private long nextSweepMillis;
+
+    /**
+     * Rebuild the wheel from Redis once the application is up, then start ticking.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        holdExpiryQueue.rebuild(System.currentTimeMillis());
+
+        ticker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("hold-expiry").daemon().factory());
+        long tickMillis = holdExpiryConfig.getTick().toMillis();
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            List<String> fired = holdExpiryQueue.advance(now);
+            int batchSize = holdExpiryConfig.getBatchSize();
+            for (int from = 0; from < fired.size(); from += batchSize) {
+                expire(fired.subList(from, Math.min(from + batchSize, fired.size())), now);
+            }
+
+            if (now >= nextSweepMillis) {
+                nextSweepMillis = now + holdExpiryConfig.getSweepInterval().toMillis();
+                sweep(now);
+            }
+        } catch (Exception e) {
+            log.error("Error expiring holds", e);
+        }
+    }
+
+    private void sweep(long now) {
+        int batchSize = holdExpiryConfig.getBatchSize();
+        List<String> due;
+        do {
+            due = holdExpiryQueue.findDue(now, batchSize);
+            if (!due.isEmpty() && !expire(due, now)) {
+                // Requeued as due: stop here rather than spin on the same batch
+                return;
+            }
+        } while (due.size() == batchSize);
+    }
+
+    /**
+     * Claim and expire one batch.
+     *
+     * @return false if the expiry failed and the batch was put back
+     */
+    private boolean expire(List<String> orderCodes, long now) {
+        List<String> claimed = holdExpiryQueue.claim(orderCodes);
+        if (claimed.isEmpty()) {
+            return true;
+        }
+        try {
+            orderService.expireOrdersByCode(claimed);
+            return true;
+        } catch (Exception e) {
+            log.error("Error expiring {} orders, will retry", claimed.size(), e);
+            holdExpiryQueue.requeue(claimed, now);
+            return false;
+        }
+    }
+}
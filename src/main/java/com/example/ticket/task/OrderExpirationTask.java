@@ -1,11 +1,14 @@
 package com.example.ticket.task;
 
+import com.example.ticket.service.ClusterJobRunner;
 import com.example.ticket.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Scheduled task to handle order expiration.
  */
@@ -14,15 +17,21 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class OrderExpirationTask {
 
+    private static final Duration SCAN_INTERVAL = Duration.ofMinutes(1);
+
     private final OrderService orderService;
+    private final ClusterJobRunner clusterJobRunner;
 
     /**
      * Run every minute to cleanup expired pending orders.
+     * Holds are normally released by {@link HoldExpiryTask}; this scan catches orders that
+     * never got a deadline in Redis (e.g. Redis was unavailable when they were placed).
      */
     @Scheduled(fixedRate = 60000)
     public void cleanupExpiredOrders() {
         // log.info("Running order cleanup task..."); 
         // Commented out to avoid spamming logs, OrderService will log actual expiration
-        orderService.expireOldOrders();
+        // One node per cluster: concurrent scans would release the same tickets twice
+        clusterJobRunner.run("order-expiration-scan", SCAN_INTERVAL, orderService::expireOldOrders);
     }
 }
@@ -0,0 +1,154 @@
+package com.example.ticket.worker;
+
+import com.example.ticket.config.OutboxConfig;
+import com.example.ticket.domain.entity.OutboxMessage;
+import com.example.ticket.domain.repository.OutboxRepository;
+import com.example.ticket.messaging.MessageBus;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbox Relay - Publishes outbox rows to the message bus.
+ * Due rows are claimed with {@code FOR UPDATE SKIP LOCKED} and leased in a short
+ * transaction, sent in bus-sized batches (SendMessageBatch on SQS) outside of it, then deleted. Failed sends are
+ * retried with exponential backoff. Delivery is at-least-once; consumers are idempotent.
+ * <p>
+ * Runs on its own thread rather than the shared {@code @Scheduled} pool, so a slow or
+ * unreachable bus only delays the relay, not the other scheduled jobs.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private final OutboxRepository outboxRepository;
+    private final MessageBus messageBus;
+    private final OutboxConfig outboxConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    private ScheduledExecutorService executor;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("outbox-relay").daemon().factory());
+        long pollMillis = outboxConfig.getPollInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::relay, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public void relay() {
+        try {
+            // Keep going while full batches are waiting, so a backlog drains without poll delays
+            // (up to a bound, so a huge backlog cannot pin the thread between polls)
+            int batches = 1;
+            while (relayBatch() == outboxConfig.getBatchSize() && batches++ < outboxConfig.getMaxBatchesPerRun()) {
+                log.debug("Outbox backlog, relaying next batch");
+            }
+        } catch (Exception e) {
+            log.error("Error relaying outbox messages", e);
+        }
+    }
+
+    /**
+     * @return number of messages claimed
+     */
+    private int relayBatch() {
+        List<OutboxMessage> messages = claim();
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> sent = new ArrayList<>(messages.size());
+        List<OutboxMessage> failed = new ArrayList<>();
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        int batchSize = messageBus.maxBatchSize();
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            List<OutboxMessage> batch = messages.subList(from, Math.min(from + batchSize, messages.size()));
+            sends.add(messageBus.send(batch.stream().map(OutboxMessage::getPayload).toList())
+                    .orTimeout(outboxConfig.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    .handle((failedIndexes, e) -> {
+                        synchronized (sent) {
+                            for (int i = 0; i < batch.size(); i++) {
+                                if (e == null && !failedIndexes.contains(i)) {
+                                    sent.add(batch.get(i).getId());
+                                } else {
+                                    failed.add(batch.get(i));
+                                }
+                            }
+                        }
+                        if (e != null) {
+                            log.warn("Failed to send {} outbox messages: {}", batch.size(), e.getMessage());
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sent.isEmpty()) {
+                outboxRepository.deleteAllByIdInBatch(sent);
+            }
+            if (!failed.isEmpty()) {
+                scheduleRetry(failed);
+            }
+        });
+        log.debug("Relayed {} outbox messages ({} failed)", sent.size(), failed.size());
+        return messages.size();
+    }
+
+    /**
+     * Claim due messages and lease them so no other relay sends them concurrently.
+     */
+    private List<OutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = outboxRepository.lockDueIds(now, outboxConfig.getBatchSize());
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxRepository.lease(ids, now.plus(outboxConfig.getLeaseTimeout()));
+            return outboxRepository.findAllById(ids);
+        });
+    }
+
+    private void scheduleRetry(List<OutboxMessage> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxMessage message : failed) {
+            int attempts = message.getAttempts() + 1;
+            message.setAttempts(attempts);
+            message.setNextAttemptAt(now.plus(backoff(attempts)));
+            if (attempts % 10 == 0) {
+                log.error("Outbox message {} ({}) still unsent after {} attempts",
+                        message.getId(), message.getType(), attempts);
+            }
+        }
+        outboxRepository.saveAll(failed);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration max = outboxConfig.getMaxRetryBackoff();
+        Duration delay = outboxConfig.getRetryBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+}
@@ -1,93 +1,323 @@
 package com.example.ticket.worker;
 
+import com.example.ticket.config.PaymentWorkerConfig;
+import com.example.ticket.messaging.BusMessage;
+import com.example.ticket.messaging.MessageBus;
+import com.example.ticket.messaging.PaymentMessageCodec;
 import com.example.ticket.service.OrderService;
-import com.example.ticket.service.SqsService;
+import com.example.ticket.service.PaidBatchResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
-import software.amazon.awssdk.services.sqs.model.Message;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Payment Worker - Polls SQS for ORDER_PAID messages and finalizes orders.
+ * Payment Worker - Consumes ORDER_PAID messages from the message bus and finalizes orders.
  * This is Phase 3 of the flow: Async order finalization.
+ * <p>
+ * Runs as a pipeline: several long-polling receivers feed a fixed processing pool, capped
+ * at {@code maxInFlight} outstanding messages. Finalized messages are deleted in batches
+ * (DeleteMessageBatch on SQS), slow ones get their visibility timeout extended, and shutdown drains what was
+ * already received.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class PaymentWorker {
+public class PaymentWorker implements SmartLifecycle {
 
-    private final SqsService sqsService;
+    private final MessageBus messageBus;
+    private final PaymentMessageCodec paymentMessageCodec;
     private final OrderService orderService;
+    private final PaymentWorkerConfig workerConfig;
 
     /**
-     * Poll SQS queue for payment messages every second.
+     * Receipt handle -> time (nanos) it was received or last extended.
      */
-    @Scheduled(fixedDelay = 1000)
-    public void pollPaymentMessages() {
-        try {
-            List<Message> messages = sqsService.receiveMessages(10).join();
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private final Queue<String> processed = new ConcurrentLinkedQueue<>();
+    private final Set<CompletableFuture<List<BusMessage>>> pendingReceives = ConcurrentHashMap.newKeySet();
+
+    private Semaphore permits;
+    private ExecutorService receivers;
+    private ExecutorService processors;
+    private ScheduledExecutorService housekeeper;
+    private volatile boolean running;
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        permits = new Semaphore(workerConfig.getMaxInFlight());
+        receivers = Executors.newFixedThreadPool(workerConfig.getReceivers(),
+                Thread.ofPlatform().name("payment-receiver-", 0).daemon().factory());
+        processors = Executors.newFixedThreadPool(workerConfig.getProcessingThreads(),
+                Thread.ofPlatform().name("payment-worker-", 0).factory());
+        housekeeper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("payment-worker-housekeeper").daemon().factory());
+
+        running = true;
+        for (int i = 0; i < workerConfig.getReceivers(); i++) {
+            receivers.execute(this::receiveLoop);
+        }
+
+        long deleteMillis = workerConfig.getDeleteInterval().toMillis();
+        housekeeper.scheduleWithFixedDelay(this::safeDeleteProcessed, deleteMillis, deleteMillis,
+                TimeUnit.MILLISECONDS);
+        // Check twice per extension window so no message outlives its timeout between checks
+        long extendCheckMillis = Math.max(1000, workerConfig.getExtendAfter().toMillis() / 2);
+        housekeeper.scheduleWithFixedDelay(this::extendVisibility, extendCheckMillis, extendCheckMillis,
+                TimeUnit.MILLISECONDS);
+
+        log.info("Payment worker started ({} receivers, {} processors, max {} in flight)",
+                workerConfig.getReceivers(), workerConfig.getProcessingThreads(), workerConfig.getMaxInFlight());
+    }
+
+    /**
+     * Stop receiving, let received messages finish and flush their deletes.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+
+        // Abort outstanding long polls; anything they would have returned reappears after its timeout
+        pendingReceives.forEach(receive -> receive.cancel(true));
+        receivers.shutdownNow();
 
-            for (Message message : messages) {
-                processMessage(message);
+        processors.shutdown();
+        try {
+            if (!processors.awaitTermination(workerConfig.getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Payment worker drain timed out with {} messages in flight", inFlight.size());
+                processors.shutdownNow();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            processors.shutdownNow();
+        }
+
+        housekeeper.shutdownNow();
+        try {
+            CompletableFuture.allOf(deleteProcessed().toArray(CompletableFuture[]::new))
+                    .get(5, TimeUnit.SECONDS);
         } catch (Exception e) {
-            log.error("Error polling SQS messages", e);
+            log.warn("Could not delete all processed messages on shutdown: {}", e.getMessage());
+        }
+        log.info("Payment worker stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void receiveLoop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            int batch = acquirePermits();
+            if (batch == 0) {
+                continue;
+            }
+
+            CompletableFuture<List<BusMessage>> receive = messageBus.receive(batch, workerConfig.getWaitTime(),
+                    workerConfig.getVisibilityTimeout());
+            pendingReceives.add(receive);
+            List<BusMessage> messages;
+            try {
+                messages = receive.join();
+            } catch (Exception e) {
+                permits.release(batch);
+                if (running) {
+                    log.error("Error receiving payment messages", e);
+                    pause();
+                }
+                continue;
+            } finally {
+                pendingReceives.remove(receive);
+            }
+
+            permits.release(batch - messages.size());
+            if (messages.isEmpty()) {
+                continue;
+            }
+            long now = System.nanoTime();
+            messages.forEach(message -> inFlight.put(message.receiptHandle(), now));
+            try {
+                processors.execute(() -> processMessages(messages));
+            } catch (RejectedExecutionException e) {
+                // Stopped between receive and hand-off: the messages reappear after their timeout
+                messages.forEach(message -> inFlight.remove(message.receiptHandle()));
+                permits.release(messages.size());
+            }
         }
     }
 
     /**
-     * Process a single SQS message.
+     * Take up to one bus batch worth of permits, blocking briefly for the first.
+     *
+     * @return permits taken, 0 if none became free
      */
-    private void processMessage(Message message) {
-        String orderCode = null;
+    private int acquirePermits() {
         try {
-            orderCode = sqsService.extractOrderCode(message.body());
+            if (!permits.tryAcquire(1, TimeUnit.SECONDS)) {
+                return 0;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+        int batch = 1;
+        while (batch < messageBus.maxBatchSize() && permits.tryAcquire()) {
+            batch++;
+        }
+        return batch;
+    }
 
-            if (orderCode == null) {
-                log.warn("Could not extract order code from message: {}", message.body());
-                deleteMessage(message);
+    /**
+     * Finalize one received batch with a single bulk update.
+     * Messages for orders that are not stored yet stay on the queue and are retried after
+     * their visibility timeout; everything else (including duplicates) is deleted.
+     * Orders paid after they expired or were cancelled are reported by
+     * {@link OrderService#markOrdersPaid} and deleted too; redelivery cannot bring their seats back.
+     */
+    private void processMessages(List<BusMessage> messages) {
+        try {
+            Map<String, List<String>> receiptsByOrderCode = new HashMap<>();
+            for (BusMessage message : messages) {
+                String orderCode = paymentMessageCodec.decodeOrderCode(message.body());
+                if (orderCode == null) {
+                    log.warn("Could not extract order code from message: {}", message.body());
+                    processed.add(message.receiptHandle());
+                } else {
+                    receiptsByOrderCode.computeIfAbsent(orderCode, code -> new ArrayList<>())
+                            .add(message.receiptHandle());
+                }
+            }
+            if (receiptsByOrderCode.isEmpty()) {
                 return;
             }
 
-            log.info("Processing ORDER_PAID message for order: {}", orderCode);
+            log.info("Processing {} ORDER_PAID messages", receiptsByOrderCode.size());
 
-            // Finalize the order
-            orderService.markOrderPaid(orderCode);
+            // Finalize the orders
+            PaidBatchResult result = orderService.markOrdersPaid(receiptsByOrderCode.keySet());
 
-            // Delete message after successful processing
-            deleteMessage(message);
+            // Deleted with the next batch
+            receiptsByOrderCode.forEach((orderCode, receiptHandles) -> {
+                if (result.notFound().contains(orderCode)) {
+                    log.warn("Order {} not found, message will be retried", orderCode);
+                } else {
+                    processed.addAll(receiptHandles);
+                }
+            });
+        } catch (Exception e) {
+            log.error("Error processing batch of {} messages", messages.size(), e);
+            // Messages will become visible again after visibility timeout
+        } finally {
+            messages.forEach(message -> inFlight.remove(message.receiptHandle()));
+            permits.release(messages.size());
+        }
+    }
 
-            log.info("Successfully processed order: {}", orderCode);
+    private void safeDeleteProcessed() {
+        try {
+            deleteProcessed();
         } catch (Exception e) {
-            log.error("Error processing message for order {}: {}", orderCode, e.getMessage());
-            // Message will become visible again after visibility timeout
+            log.error("Error deleting processed messages", e);
         }
     }
 
     /**
-     * Delete message from queue.
+     * Delete processed messages in bus-sized batches.
      */
-    private void deleteMessage(Message message) {
-        try {
-            sqsService.deleteMessage(message.receiptHandle()).join();
-        } catch (Exception e) {
-            log.error("Error deleting message: {}", e.getMessage());
+    private List<CompletableFuture<List<String>>> deleteProcessed() {
+        List<CompletableFuture<List<String>>> deletes = new ArrayList<>();
+        int batchSize = messageBus.maxBatchSize();
+        List<String> batch = new ArrayList<>(batchSize);
+        String receiptHandle;
+        while ((receiptHandle = processed.poll()) != null) {
+            batch.add(receiptHandle);
+            if (batch.size() == batchSize) {
+                deletes.add(deleteBatch(batch));
+                batch = new ArrayList<>(batchSize);
+            }
         }
+        if (!batch.isEmpty()) {
+            deletes.add(deleteBatch(batch));
+        }
+        return deletes;
+    }
+
+    private CompletableFuture<List<String>> deleteBatch(List<String> receiptHandles) {
+        return messageBus.delete(receiptHandles)
+                .whenComplete((failed, e) -> {
+                    if (e != null) {
+                        // Redelivered after the visibility timeout; markOrdersPaid is idempotent
+                        log.error("Error deleting {} messages: {}", receiptHandles.size(), e.getMessage());
+                    } else if (!failed.isEmpty()) {
+                        log.warn("Failed to delete {} of {} messages", failed.size(), receiptHandles.size());
+                    }
+                });
     }
 
     /**
-     * Scheduled task to expire old orders.
-     * Runs every minute.
+     * Extend the visibility timeout of messages that have been processing for a while.
      */
-    @Scheduled(fixedRate = 60000)
-    public void expireOrders() {
+    private void extendVisibility() {
         try {
-            orderService.expireOldOrders();
+            long now = System.nanoTime();
+            long extendAfterNanos = workerConfig.getExtendAfter().toNanos();
+            List<String> slow = new ArrayList<>();
+            inFlight.forEach((receiptHandle, since) -> {
+                if (now - since >= extendAfterNanos) {
+                    slow.add(receiptHandle);
+                }
+            });
+            if (slow.isEmpty()) {
+                return;
+            }
+
+            int batchSize = messageBus.maxBatchSize();
+            for (int from = 0; from < slow.size(); from += batchSize) {
+                List<String> batch = slow.subList(from, Math.min(from + batchSize, slow.size()));
+                // Only the ones still processing; finished messages are about to be deleted
+                batch.forEach(receiptHandle -> inFlight.computeIfPresent(receiptHandle, (key, since) -> now));
+                messageBus.extendVisibility(List.copyOf(batch), workerConfig.getVisibilityTimeout())
+                        .whenComplete((response, e) -> {
+                            if (e != null) {
+                                log.warn("Error extending visibility of {} messages: {}", batch.size(),
+                                        e.getMessage());
+                            }
+                        });
+            }
+            log.debug("Extended visibility of {} slow messages", slow.size());
         } catch (Exception e) {
-            log.error("Error expiring orders", e);
+            log.error("Error extending message visibility", e);
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 }
@@ -0,0 +1,19 @@
+-- Acquire or renew a cluster-wide scheduled job lease.
+-- KEYS[1] = lease key, KEYS[2] = fencing token counter
+-- ARGV[1] = owner (node) id, ARGV[2] = lease time in ms
+-- The lease value is "owner|token". The owner renews its own lease and keeps its token;
+-- a new owner only gets the lease once it has expired, with the next (higher) token.
+-- Returns the fencing token, or -1 when another node holds the lease.
+local current = redis.call('GET', KEYS[1])
+if current then
+    local separator = string.find(current, '|', 1, true)
+    if string.sub(current, 1, separator - 1) == ARGV[1] then
+        redis.call('PEXPIRE', KEYS[1], ARGV[2])
+        return tonumber(string.sub(current, separator + 1))
+    end
+    return -1
+end
+
+local token = redis.call('INCR', KEYS[2])
+redis.call('SET', KEYS[1], ARGV[1] .. '|' .. token, 'PX', ARGV[2])
+return token
@@ -0,0 +1,14 @@
+-- Consume a waiting-room admission if it belongs to the caller.
+-- KEYS[1] = admitted token key
+-- ARGV[1] = expected owner ("eventId:email")
+-- ARGV[2] = admission TTL in millis, reported for a key without expiry
+-- Returns the admission's remaining TTL in millis (so it can be handed back), 0 if not admitted.
+if redis.call('GET', KEYS[1]) ~= ARGV[1] then
+    return 0
+end
+local ttl = redis.call('PTTL', KEYS[1])
+redis.call('DEL', KEYS[1])
+if ttl <= 0 then
+    return tonumber(ARGV[2])
+end
+return ttl
@@ -0,0 +1,34 @@
+-- Atomically hold tickets for an order.
+-- KEYS[1] = inventory counter (in sharded mode: one stripe, in the same slot as the hold record)
+-- KEYS[2] = hold record
+-- KEYS[3] = per-user purchase counter (optional, only for events with a per-user limit)
+-- ARGV[1] = quantity, ARGV[2] = hold record value, ARGV[3] = hold TTL in milliseconds
+-- ARGV[4] = per-user limit, ARGV[5] = purchase counter TTL in milliseconds (with KEYS[3] only)
+-- Returns {1, remaining} when held, {0, available} when there is not enough stock,
+-- {-1, purchased} when the user would exceed the limit, {-2, 0} when the counter is not loaded.
+local quantity = tonumber(ARGV[1])
+
+if KEYS[3] then
+    local purchased = redis.call('GET', KEYS[3])
+    if not purchased then
+        return {-2, 0}
+    end
+    purchased = tonumber(purchased)
+    if purchased + quantity > tonumber(ARGV[4]) then
+        return {-1, purchased}
+    end
+end
+
+local available = tonumber(redis.call('GET', KEYS[1]) or '0')
+
+if available < quantity then
+    return {0, available}
+end
+
+local remaining = redis.call('DECRBY', KEYS[1], quantity)
+redis.call('SET', KEYS[2], ARGV[2], 'PX', ARGV[3])
+if KEYS[3] then
+    redis.call('INCRBY', KEYS[3], quantity)
+    redis.call('PEXPIRE', KEYS[3], ARGV[5])
+end
+return {1, remaining}
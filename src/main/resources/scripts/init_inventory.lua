@@ -0,0 +1,7 @@
+-- Reset an event's inventory counter and start a new lease generation.
+-- KEYS[1] = inventory counter, KEYS[2] = lease generation
+-- ARGV[1] = tickets
+-- Returns the new generation. Blocks leased under an older one no longer belong to the
+-- counter: their nodes drop them instead of selling or returning them.
+redis.call('SET', KEYS[1], ARGV[1])
+return redis.call('INCR', KEYS[2])
@@ -0,0 +1,11 @@
+-- Take or renew the lease on a Snowflake node ID.
+-- KEYS[1] = node ID key
+-- ARGV[1] = owner (instance) id, ARGV[2] = lease time in ms
+-- Returns 1 if this instance holds the ID (newly taken, renewed, or re-taken after it
+-- lapsed), 0 if another instance holds it.
+local owner = redis.call('GET', KEYS[1])
+if owner and owner ~= ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+return 1
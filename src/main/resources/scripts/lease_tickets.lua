@@ -0,0 +1,16 @@
+-- Lease a block of tickets from the global counter to one app node.
+-- KEYS[1] = inventory counter, KEYS[2] = lease generation
+-- ARGV[1] = block size, ARGV[2] = low-stock threshold
+-- Returns {leased, remaining, generation}. Nothing is leased once stock is at or below the
+-- threshold, so the last tickets are always sold straight from Redis.
+local available = tonumber(redis.call('GET', KEYS[1]) or '0')
+local threshold = tonumber(ARGV[2])
+local generation = tonumber(redis.call('GET', KEYS[2]) or '0')
+
+if available <= threshold then
+    return {0, available, generation}
+end
+
+local leased = math.min(tonumber(ARGV[1]), available - threshold)
+local remaining = redis.call('DECRBY', KEYS[1], leased)
+return {leased, remaining, generation}
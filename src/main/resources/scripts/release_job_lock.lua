@@ -0,0 +1,8 @@
+-- Release a lease (scheduled job or node ID) if this node still holds it.
+-- KEYS[1] = lease key
+-- ARGV[1] = expected lease value (job leases: "owner|token", node IDs: owner)
+-- Returns 1 when released, 0 otherwise.
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,15 @@
+-- Give back part of a user's per-event purchase allowance.
+-- KEYS[1] = per-user purchase counter
+-- ARGV[1] = quantity
+-- A missing counter is left alone (it is reloaded from the database on next use).
+-- Returns the new count, or -1 when the counter is not loaded.
+if redis.call('EXISTS', KEYS[1]) == 0 then
+    return -1
+end
+
+local purchased = redis.call('DECRBY', KEYS[1], tonumber(ARGV[1]))
+if purchased < 0 then
+    redis.call('SET', KEYS[1], 0, 'KEEPTTL')
+    purchased = 0
+end
+return purchased
@@ -0,0 +1,19 @@
+-- Reserve part of a user's per-event purchase allowance.
+-- KEYS[1] = per-user purchase counter
+-- ARGV[1] = quantity, ARGV[2] = per-user limit, ARGV[3] = counter TTL in milliseconds
+-- Returns {1, purchased} when reserved, {-1, purchased} when the user would exceed the limit,
+-- {-2, 0} when the counter is not loaded.
+local purchased = redis.call('GET', KEYS[1])
+if not purchased then
+    return {-2, 0}
+end
+
+local quantity = tonumber(ARGV[1])
+purchased = tonumber(purchased)
+if purchased + quantity > tonumber(ARGV[2]) then
+    return {-1, purchased}
+end
+
+purchased = redis.call('INCRBY', KEYS[1], quantity)
+redis.call('PEXPIRE', KEYS[1], ARGV[3])
+return {1, purchased}
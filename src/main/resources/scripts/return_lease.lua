@@ -0,0 +1,8 @@
+-- Give a node's unused leased tickets back to the inventory counter.
+-- KEYS[1] = inventory counter, KEYS[2] = lease generation
+-- ARGV[1] = tickets, ARGV[2] = generation they were leased under
+-- Returns the new counter value, or -1 when the counter was reset since (nothing is added).
+if tonumber(redis.call('GET', KEYS[2]) or '0') ~= tonumber(ARGV[2]) then
+    return -1
+end
+return redis.call('INCRBY', KEYS[1], ARGV[1])
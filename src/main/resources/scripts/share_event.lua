@@ -0,0 +1,13 @@
+-- Write a freshly loaded event to the shared cache unless it was evicted since the load began.
+-- KEYS[1] = cached event, KEYS[2] = event's eviction generation, KEYS[3] = evict-all generation,
+-- KEYS[4] = set of cached event IDs
+-- ARGV[1] = event JSON, ARGV[2] = TTL millis, ARGV[3] = event generation read before the load,
+-- ARGV[4] = evict-all generation read before the load, ARGV[5] = event ID
+-- Returns 1 if written, 0 if an eviction happened in between (the snapshot may be stale).
+if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[3] or (redis.call('GET', KEYS[3]) or '0') ~= ARGV[4] then
+    return 0
+end
+
+redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+redis.call('SADD', KEYS[4], ARGV[5])
+return 1
@@ -0,0 +1,11 @@
+-- Take up to the wanted number of tickets from one inventory stripe (sharded mode spill).
+-- KEYS[1] = stripe counter
+-- ARGV[1] = tickets wanted
+-- Returns {taken, available}: taken may be less than wanted (0 when the stripe is empty);
+-- available is what the stripe held before. The stripe never goes negative.
+local available = tonumber(redis.call('GET', KEYS[1]) or '0')
+local take = math.min(available, tonumber(ARGV[1]))
+if take > 0 then
+    redis.call('DECRBY', KEYS[1], take)
+end
+return {take, available}
@@ -0,0 +1,105 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.domain.enums.EventStatus;
+import com.example.ticket.domain.model.EventSnapshot;
+import com.example.ticket.service.EventSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event search at 100k events: the inverted index against a linear
+ * {@code LOWER(name) LIKE '%kw%' OR LOWER(venue) LIKE '%kw%'} scan, which is what
+ * {@code EventRepository.searchEvents} makes MySQL do. The scan runs in memory here, so it
+ * is a lower bound for the database query (no I/O, no network).
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.ticket.benchmark.EventSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventSearchBenchmark {
+
+    private static final String[] ARTISTS = { "Sơn Tùng M-TP", "Mỹ Tâm", "Đen Vâu", "Hà Anh Tuấn", "BLACKPINK",
+            "Coldplay", "Rock Storm", "Jazz Trio", "Hoàng Thùy Linh", "Bích Phương" };
+    private static final String[] KINDS = { "Live Concert", "World Tour", "Fan Meeting", "Festival", "Acoustic Night" };
+    private static final String[] VENUES = { "Sân vận động Mỹ Đình", "Nhà hát Lớn Hà Nội", "Phú Thọ Stadium",
+            "Cung Điền kinh Tiên Sơn", "Trống Đồng Palace", "Quân khu 7 Stadium" };
+
+    @Param({ "100000" })
+    private int events;
+
+    @Param({ "den vau", "my dinh", "concert", "fest" })
+    private String query;
+
+    private EventSearchIndex index;
+    private List<EventSnapshot> table;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        table = new ArrayList<>(events);
+        for (long id = 1; id <= events; id++) {
+            String name = ARTISTS[random.nextInt(ARTISTS.length)] + " " + KINDS[random.nextInt(KINDS.length)]
+                    + " " + (2026 + random.nextInt(3)) + " #" + id;
+            table.add(new EventSnapshot(id, name, null, VENUES[random.nextInt(VENUES.length)], null,
+                    now.plusDays(1 + random.nextInt(365)), null, BigDecimal.TEN, 100, 100, null, 0L,
+                    random.nextInt(10) == 0 ? EventStatus.DRAFT : EventStatus.ON_SALE, null, null, null));
+        }
+        index = new EventSearchIndex();
+        index.rebuild(table);
+    }
+
+    @Benchmark
+    public List<EventSnapshot> invertedIndex() {
+        return index.search(query, 10);
+    }
+
+    @Benchmark
+    public List<EventSnapshot> likeScan() {
+        String needle = query.toLowerCase(Locale.ROOT);
+        LocalDateTime now = LocalDateTime.now();
+        List<EventSnapshot> matches = new ArrayList<>();
+        for (EventSnapshot event : table) {
+            if (event.status() == EventStatus.ON_SALE && event.eventDate().isAfter(now)
+                    && (event.name().toLowerCase(Locale.ROOT).contains(needle)
+                            || event.venue().toLowerCase(Locale.ROOT).contains(needle))) {
+                matches.add(event);
+                if (matches.size() == 10) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.domain.id.IdGenerator;
+import com.example.ticket.domain.id.SnowflakeIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order code generation: the old random-UUID path against the Snowflake generator,
+ * single-threaded and under contention.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.ticket.benchmark.IdGeneratorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator snowflake = new SnowflakeIdGenerator(1, Instant.parse("2025-01-01T00:00:00Z"));
+
+    @Benchmark
+    public String uuidOrderCode() {
+        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public long snowflakeId() {
+        return snowflake.nextId();
+    }
+
+    @Benchmark
+    public String snowflakeOrderCode() {
+        return "ORD-" + snowflake.nextCode();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidOrderCodeContended() {
+        return uuidOrderCode();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeOrderCodeContended() {
+        return snowflakeOrderCode();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IdGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.TicketApplication;
+import com.example.ticket.domain.entity.Event;
+import com.example.ticket.domain.entity.User;
+import com.example.ticket.domain.enums.EventStatus;
+import com.example.ticket.domain.repository.EventRepository;
+import com.example.ticket.domain.repository.UserRepository;
+import com.example.ticket.dto.request.CreateOrderRequest;
+import com.example.ticket.service.InventoryService;
+import com.example.ticket.service.OrderService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Order throughput of the phased createOrder pipeline against the old shape, where the
+ * whole flow (including the Redis hold) ran inside one JPA transaction and so kept one of
+ * the 10 pooled connections busy for its full duration.
+ * <p>
+ * Needs the local MySQL and Redis. Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test -Dexec.mainClass=com.example.ticket.benchmark.OrderThroughputBenchmark}.
+ * Each run fails if an order is rejected or the stock left is not exact; the numbers are
+ * for comparison only.
+ */
+public class OrderThroughputBenchmark {
+
+    private static final int THREADS = 50;
+    private static final int ORDERS = 500;
+
+    private final OrderService orderService;
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+    private final InventoryService inventoryService;
+    private final TransactionTemplate transactionTemplate;
+
+    private OrderThroughputBenchmark(ConfigurableApplicationContext context) {
+        this.orderService = context.getBean(OrderService.class);
+        this.eventRepository = context.getBean(EventRepository.class);
+        this.userRepository = context.getBean(UserRepository.class);
+        this.inventoryService = context.getBean(InventoryService.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TicketApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        // Model a 50 ms gateway delay on the hold, as production used to sleep unconditionally
+                        "ticket.latency.enabled=true",
+                        "ticket.latency.points.inventory.distribution=FIXED",
+                        "ticket.latency.points.inventory.fixed-ms=50",
+                        // No LocalStack needed
+                        "ticket.bus.type=memory")
+                .run(args)) {
+            new OrderThroughputBenchmark(context).run();
+        }
+    }
+
+    private void run() throws InterruptedException {
+        User user = userRepository.save(User.builder()
+                .email("throughput_" + System.nanoTime() + "@example.com")
+                .password("password")
+                .fullName("Throughput User")
+                .role("USER")
+                .enabled(true)
+                .build());
+
+        // Warm up connection pool, JIT and Redis scripts
+        runOrders(createEvent(50), user.getId(), 50, false);
+
+        double singleTransaction = runOrders(createEvent(ORDERS), user.getId(), ORDERS, true);
+        double phased = runOrders(createEvent(ORDERS), user.getId(), ORDERS, false);
+
+        System.out.println("--- ORDER THROUGHPUT ---");
+        System.out.printf("Single transaction: %.1f orders/s%n", singleTransaction);
+        System.out.printf("Phased pipeline:    %.1f orders/s (%.1fx)%n", phased, phased / singleTransaction);
+    }
+
+    private Event createEvent(int tickets) {
+        Event event = eventRepository.save(Event.builder()
+                .name("THROUGHPUT CONCERT")
+                .description("Benchmark event")
+                .venue("Benchmark Venue")
+                .eventDate(LocalDateTime.now().plusDays(1))
+                .basePrice(new BigDecimal("100000"))
+                .totalTickets(tickets)
+                .availableTickets(tickets)
+                .status(EventStatus.ON_SALE)
+                .build());
+        inventoryService.initializeInventory(event.getId(), tickets);
+        return event;
+    }
+
+    /**
+     * Place {@code orders} single-ticket orders for an event with exactly that many tickets.
+     *
+     * @return orders per second
+     */
+    private double runOrders(Event event, Long userId, int orders, boolean wrapInTransaction)
+            throws InterruptedException {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch latch = new CountDownLatch(orders);
+        AtomicInteger successfulOrders = new AtomicInteger(0);
+        AtomicInteger failedOrders = new AtomicInteger(0);
+
+        CreateOrderRequest request = CreateOrderRequest.builder()
+                .eventId(event.getId())
+                .quantity(1)
+                .customerName("User")
+                .customerEmail("user@example.com")
+                .customerPhone("123456789")
+                .build();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < orders; i++) {
+            executorService.submit(() -> {
+                try {
+                    if (wrapInTransaction) {
+                        transactionTemplate.executeWithoutResult(
+                                status -> orderService.createOrder(request, "127.0.0.1", userId));
+                    } else {
+                        orderService.createOrder(request, "127.0.0.1", userId);
+                    }
+                    successfulOrders.incrementAndGet();
+                } catch (Exception e) {
+                    failedOrders.incrementAndGet();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        long elapsedNanos = System.nanoTime() - start;
+        executorService.shutdown();
+
+        if (successfulOrders.get() != orders) {
+            throw new IllegalStateException(failedOrders.get() + " of " + orders + " orders failed");
+        }
+        int left = inventoryService.getAvailableInventory(List.of(event.getId())).getOrDefault(event.getId(), -1);
+        if (left != 0) {
+            throw new IllegalStateException("Expected no stock left after " + orders + " orders, found " + left);
+        }
+        return orders / (elapsedNanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.config.MessageBusConfig;
+import com.example.ticket.messaging.OrderPaidMessage;
+import com.example.ticket.messaging.PaymentMessageCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ORDER_PAID message encoding and decoding: the old Map + Jackson round trip against the
+ * binary format and the streaming legacy-JSON reader.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.ticket.benchmark.PaymentMessageCodecBenchmark}
+ * (add {@code -prof gc} to the JMH options to compare allocation per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentMessageCodecBenchmark {
+
+    private static final String ORDER_CODE = "ORD-0K4Z8X1M2P3QR";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PaymentMessageCodec binaryCodec;
+    private PaymentMessageCodec jsonCodec;
+    private String binaryBody;
+    private String jsonBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        MessageBusConfig binary = new MessageBusConfig();
+        binary.setFormat(MessageBusConfig.Format.BINARY);
+        MessageBusConfig json = new MessageBusConfig();
+        json.setFormat(MessageBusConfig.Format.JSON);
+
+        binaryCodec = new PaymentMessageCodec(objectMapper, binary);
+        jsonCodec = new PaymentMessageCodec(objectMapper, json);
+        binaryBody = binaryCodec.encodeOrderPaid(ORDER_CODE);
+        jsonBody = mapEncode();
+
+        System.out.printf("Body size: JSON %d chars, binary %d chars%n", jsonBody.length(), binaryBody.length());
+    }
+
+    @Benchmark
+    public String mapEncode() throws Exception {
+        return objectMapper.writeValueAsString(Map.of(
+                "type", "ORDER_PAID",
+                "orderCode", ORDER_CODE,
+                "timestamp", System.currentTimeMillis()));
+    }
+
+    @Benchmark
+    public String jsonEncode() {
+        return jsonCodec.encode(OrderPaidMessage.of(ORDER_CODE));
+    }
+
+    @Benchmark
+    public String binaryEncode() {
+        return binaryCodec.encode(OrderPaidMessage.of(ORDER_CODE));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public String mapDecode() throws Exception {
+        Map<String, Object> body = objectMapper.readValue(jsonBody, Map.class);
+        return (String) body.get("orderCode");
+    }
+
+    @Benchmark
+    public String streamingJsonDecode() {
+        return binaryCodec.decodeOrderCode(jsonBody);
+    }
+
+    @Benchmark
+    public String binaryDecode() {
+        return binaryCodec.decodeOrderCode(binaryBody);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PaymentMessageCodecBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.ticket.benchmark;
+
+import com.example.ticket.config.TokenCacheConfig;
+import com.example.ticket.domain.entity.User;
+import com.example.ticket.security.JwtUtils;
+import com.example.ticket.security.TokenVerifier;
+import com.example.ticket.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer token verification: the old path (key and parser built per call, token parsed
+ * three times) against a single parse with the shared parser and a cache hit.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.example.ticket.benchmark.TokenVerifierBenchmark}
+ * (add {@code -prof gc} to the JMH options to compare allocation per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenVerifierBenchmark {
+
+    private static final String SECRET = "9a4f2c8d3b7a1e6f4g5h8i0j1k2l3m4n5o6p7q8r9s0t1u2v3w4x5y6z";
+
+    private JwtUtils jwtUtils;
+    private TokenVerifier uncachedVerifier;
+    private TokenVerifier cachedVerifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(SECRET, TimeUnit.HOURS.toMillis(24));
+
+        TokenCacheConfig uncached = new TokenCacheConfig();
+        uncached.setEnabled(false);
+        uncachedVerifier = new TokenVerifier(jwtUtils, uncached, new SimpleMeterRegistry());
+        uncachedVerifier.init();
+
+        cachedVerifier = new TokenVerifier(jwtUtils, new TokenCacheConfig(), new SimpleMeterRegistry());
+        cachedVerifier.init();
+
+        User user = User.builder()
+                .id(7_340_032_123_456L)
+                .email("user@example.com")
+                .role("USER")
+                .enabled(true)
+                .build();
+        token = jwtUtils.generateToken(user);
+        cachedVerifier.verify(token);
+    }
+
+    @Benchmark
+    public boolean perCallParser() {
+        String username = parsePerCall(token).getSubject();
+        return username.equals(parsePerCall(token).getSubject())
+                && !parsePerCall(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public VerifiedToken sharedParser() {
+        return uncachedVerifier.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken cached() {
+        return cachedVerifier.verify(token);
+    }
+
+    private static Claims parsePerCall(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenVerifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
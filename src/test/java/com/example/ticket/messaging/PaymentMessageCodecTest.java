@@ -0,0 +1,111 @@
+package com.example.ticket.messaging;
+
+import com.example.ticket.config.MessageBusConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PaymentMessageCodecTest {
+
+    private static final String ORDER_CODE = "ORD-0K4Z8X1M2P3QR";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PaymentMessageCodec binaryCodec = codec(MessageBusConfig.Format.BINARY);
+    private final PaymentMessageCodec jsonCodec = codec(MessageBusConfig.Format.JSON);
+
+    @Test
+    void binaryRoundTrip() {
+        OrderPaidMessage message = new OrderPaidMessage(ORDER_CODE, 1_700_000_000_123L);
+
+        String body = binaryCodec.encode(message);
+
+        assertTrue(body.charAt(0) != '{', "binary body must not look like JSON");
+        assertEquals(message, binaryCodec.decode(body));
+        assertEquals(message, jsonCodec.decode(body));
+    }
+
+    @Test
+    void binaryRoundTripOfNonAsciiOrderCode() {
+        OrderPaidMessage message = new OrderPaidMessage("ĐƠN-hàng-✓", 42L);
+
+        assertEquals(message, binaryCodec.decode(binaryCodec.encode(message)));
+    }
+
+    @Test
+    void jsonRoundTrip() {
+        OrderPaidMessage message = new OrderPaidMessage("ORD-\"quoted\"\\", 1_700_000_000_123L);
+
+        String body = jsonCodec.encode(message);
+
+        assertEquals(message, jsonCodec.decode(body));
+        assertEquals(message, binaryCodec.decode(body));
+    }
+
+    @Test
+    void decodesLegacyMapEncodedJson() throws Exception {
+        // What older nodes wrote: a Map serialized by Jackson
+        Map<String, Object> legacy = new LinkedHashMap<>();
+        legacy.put("type", "ORDER_PAID");
+        legacy.put("orderCode", ORDER_CODE);
+        legacy.put("timestamp", 1_700_000_000_123L);
+
+        assertEquals(new OrderPaidMessage(ORDER_CODE, 1_700_000_000_123L),
+                binaryCodec.decode(objectMapper.writeValueAsString(legacy)));
+    }
+
+    @Test
+    void decodesLegacyJsonInAnyFieldOrderAndSkipsUnknownFields() {
+        String body = "{\"orderCode\":\"" + ORDER_CODE + "\",\"extra\":{\"nested\":[1,{\"a\":2}]},"
+                + "\"timestamp\":99,\"type\":\"ORDER_PAID\"}";
+
+        assertEquals(new OrderPaidMessage(ORDER_CODE, 99L), binaryCodec.decode(body));
+    }
+
+    @Test
+    void legacyJsonWithoutTimestampDecodesWithZero() {
+        assertEquals(new OrderPaidMessage(ORDER_CODE, 0L),
+                binaryCodec.decode("{\"type\":\"ORDER_PAID\",\"orderCode\":\"" + ORDER_CODE + "\"}"));
+    }
+
+    @Test
+    void decodeOrderCodeReadsBothFormats() {
+        assertEquals(ORDER_CODE, binaryCodec.decodeOrderCode(binaryCodec.encodeOrderPaid(ORDER_CODE)));
+        assertEquals(ORDER_CODE, binaryCodec.decodeOrderCode(jsonCodec.encodeOrderPaid(ORDER_CODE)));
+    }
+
+    @Test
+    void unreadableBodiesDecodeToNull() {
+        assertNull(binaryCodec.decode("{\"type\":\"ORDER_CANCELLED\",\"orderCode\":\"" + ORDER_CODE + "\"}"));
+        assertNull(binaryCodec.decode("{\"type\":\"ORDER_PAID\"}"));
+        assertNull(binaryCodec.decode("not base64!"));
+        assertNull(binaryCodec.decode(""));
+        assertNull(binaryCodec.decodeOrderCode("{broken"));
+    }
+
+    @Test
+    void unsupportedBinaryVersionDecodesToNull() {
+        byte[] code = ORDER_CODE.getBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 1 + Long.BYTES + Short.BYTES + code.length)
+                .put((byte) 2)
+                .put(PaymentMessageCodec.TYPE_ORDER_PAID)
+                .putLong(1L)
+                .putShort((short) code.length)
+                .put(code);
+
+        assertNull(binaryCodec.decode(Base64.getEncoder().withoutPadding().encodeToString(buffer.array())));
+    }
+
+    private PaymentMessageCodec codec(MessageBusConfig.Format format) {
+        MessageBusConfig config = new MessageBusConfig();
+        config.setFormat(format);
+        return new PaymentMessageCodec(objectMapper, config);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.ticket.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final long START = 1_000;
+
+    private final HashedTimingWheel wheel = new HashedTimingWheel(TICK, 8, START);
+
+    @Test
+    void neverFiresBeforeTheDeadline() {
+        wheel.schedule("a", START + 250);
+
+        assertTrue(wheel.advance(START + 249).isEmpty());
+        // Rounded up to tick 3: fires at the first tick boundary at or after the deadline
+        assertTrue(wheel.advance(START + 299).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(START + 300));
+        assertTrue(wheel.advance(START + 1_000).isEmpty());
+    }
+
+    @Test
+    void deadlineOnATickBoundaryFiresOnThatTick() {
+        wheel.schedule("a", START + 200);
+
+        assertTrue(wheel.advance(START + 199).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(START + 200));
+    }
+
+    @Test
+    void waitsFullRotationsBeforeFiring() {
+        // Tick 20 on an 8-bucket wheel: bucket 4, passed twice before it fires
+        wheel.schedule("a", START + 20 * TICK);
+
+        for (long now = START; now < START + 20 * TICK; now += TICK) {
+            assertTrue(wheel.advance(now).isEmpty(), "fired early at " + now);
+        }
+        assertEquals(List.of("a"), wheel.advance(START + 20 * TICK));
+    }
+
+    @Test
+    void jumpOverManyRotationsFiresOnce() {
+        wheel.schedule("a", START + 20 * TICK);
+
+        assertEquals(List.of("a"), wheel.advance(START + 100 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void timersInTheSameBucketFireInTheirOwnRound() {
+        wheel.schedule("a", START + 3 * TICK);
+        wheel.schedule("b", START + 11 * TICK);
+
+        assertEquals(List.of("a"), wheel.advance(START + 3 * TICK));
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.advance(START + 10 * TICK).isEmpty());
+        assertEquals(List.of("b"), wheel.advance(START + 11 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineBeforeStartFiresOnFirstAdvance() {
+        wheel.schedule("a", START - 5 * TICK);
+
+        assertEquals(List.of("a"), wheel.advance(START));
+    }
+
+    @Test
+    void pastDeadlineIsClampedToTheNextTick() {
+        wheel.advance(START + 500);
+        // Tick 1 was already processed: the timer goes into the next tick (6) instead of being lost
+        wheel.schedule("a", START + 100);
+
+        assertTrue(wheel.advance(START + 550).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("a"), wheel.advance(START + 600));
+    }
+
+    @Test
+    void sizeCountsTimersOnlyAfterTheyAreTransferred() {
+        wheel.schedule("a", START + 5 * TICK);
+        wheel.schedule("b", START + 50 * TICK);
+        assertEquals(0, wheel.size());
+
+        wheel.advance(START);
+        assertEquals(2, wheel.size());
+
+        wheel.advance(START + 5 * TICK);
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void wheelSizeIsRoundedUpToAPowerOfTwo() {
+        // 5 buckets requested, 8 used: tick 13 must not fire at tick 8 (13 - 5) or 5
+        HashedTimingWheel odd = new HashedTimingWheel(TICK, 5, START);
+        odd.schedule("a", START + 13 * TICK);
+
+        for (long now = START; now < START + 13 * TICK; now += TICK) {
+            assertTrue(odd.advance(now).isEmpty(), "fired early at " + now);
+        }
+        assertEquals(List.of("a"), odd.advance(START + 13 * TICK));
+    }
+
+    @Test
+    void rejectsNonPositiveTick() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(0, 8, START));
+    }
+}